@@ -0,0 +1,77 @@
+#!/bin/bash
+# Compare two JMH JSON result files (mvn -Pbenchmark test-compile exec:exec
+# writes target/jmh-result.json). Exits 1 if any benchmark got slower, or
+# allocates more per op, by more than the threshold.
+#
+# Usage: ./compare-benchmarks.sh baseline.json current.json [threshold-percent]
+
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "Usage: $0 baseline.json current.json [threshold-percent]"
+    exit 2
+fi
+
+BASELINE=$1
+CURRENT=$2
+THRESHOLD=${3:-10}
+
+if ! command -v jq >/dev/null; then
+    echo "jq is required"
+    exit 2
+fi
+
+# One line per benchmark: name[params] <tab> score <tab> unit <tab> bytes/op (or -)
+flatten() {
+    jq -r '.[] | [
+        (.benchmark | sub("^com\\.strayrescue\\.backend\\."; ""))
+            + (if .params then "[" + ([.params | to_entries[] | "\(.key)=\(.value)"] | join(",")) + "]" else "" end),
+        .primaryMetric.score,
+        .primaryMetric.scoreUnit,
+        (.secondaryMetrics["gc.alloc.rate.norm"].score // "-")
+    ] | @tsv' "$1"
+}
+
+printf "%-80s %14s %14s %8s %12s %8s\n" "Benchmark" "Baseline" "Current" "Change" "B/op" "Change"
+
+status=0
+while IFS=$'\t' read -r name score unit bytes; do
+    base=$(flatten "$BASELINE" | awk -F'\t' -v n="$name" '$1 == n { print $2 "\t" $4 }')
+    if [ -z "$base" ]; then
+        printf "%-80s %14s %11.3f %-2s\n" "$name" "(new)" "$score" "${unit%%/*}"
+        continue
+    fi
+    base_score=$(echo "$base" | cut -f1)
+    base_bytes=$(echo "$base" | cut -f2)
+
+    # All benchmarks here report time per op, so higher is worse
+    change=$(awk -v b="$base_score" -v c="$score" 'BEGIN { printf "%.1f", (c - b) / b * 100 }')
+    alloc_change="-"
+    if [ "$bytes" != "-" ] && [ "$base_bytes" != "-" ]; then
+        alloc_change=$(awk -v b="$base_bytes" -v c="$bytes" 'BEGIN { if (b < 1) { print (c < 1 ? "0.0" : "new") } else printf "%.1f", (c - b) / b * 100 }')
+    fi
+
+    flag=""
+    if awk -v c="$change" -v t="$THRESHOLD" 'BEGIN { exit !(c > t) }'; then
+        flag=" SLOWER"
+        status=1
+    fi
+    if [ "$alloc_change" = "new" ] || { [ "$alloc_change" != "-" ] && awk -v c="$alloc_change" -v t="$THRESHOLD" 'BEGIN { exit !(c > t) }'; }; then
+        flag="$flag MORE-ALLOC"
+        status=1
+    fi
+
+    bytes_per_op="-"
+    if [ "$bytes" != "-" ]; then
+        bytes_per_op=$(printf "%.0f" "$bytes")
+    fi
+
+    printf "%-80s %11.3f %-2s %11.3f %-2s %7s%% %12s %7s%%%s\n" \
+        "$name" "$base_score" "${unit%%/*}" "$score" "${unit%%/*}" "$change" "$bytes_per_op" "$alloc_change" "$flag"
+done < <(flatten "$CURRENT")
+
+if [ $status -ne 0 ]; then
+    echo ""
+    echo "Regressions above ${THRESHOLD}% found"
+fi
+exit $status
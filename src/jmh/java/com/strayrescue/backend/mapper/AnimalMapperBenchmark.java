@@ -0,0 +1,110 @@
+package com.strayrescue.backend.mapper;
+
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalImageDto;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for list and detail responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnimalMapperBenchmark {
+
+    private static final int IMAGES_PER_ANIMAL = 3;
+
+    @Param({"1000", "10000"})
+    private int animalCount;
+
+    private AnimalMapper animalMapper;
+    private AnimalImageMapper animalImageMapper;
+    private List<Animal> animals;
+    private List<AnimalImage> images;
+
+    @Setup
+    public void setUp() {
+        animalImageMapper = new AnimalImageMapperImpl();
+        animalMapper = new AnimalMapper();
+        ReflectionTestUtils.setField(animalMapper, "userMapper", new UserMapper());
+        ReflectionTestUtils.setField(animalMapper, "animalImageMapper", animalImageMapper);
+
+        User reporter = new User("reporter", "reporter@example.com", "hash");
+        reporter.setId(1L);
+        animals = new ArrayList<>(animalCount);
+        images = new ArrayList<>(animalCount * IMAGES_PER_ANIMAL);
+        for (int i = 0; i < animalCount; i++) {
+            Animal animal = new Animal("Animal " + i, i % 2 == 0 ? "Dog" : "Cat", "Friendly, found near the park", reporter);
+            animal.setId((long) i);
+            animal.setStatus(AnimalStatus.REPORTED);
+            animal.setLatitude(BigDecimal.valueOf(42.6977 + i * 0.0001));
+            animal.setLongitude(BigDecimal.valueOf(23.3219));
+            animal.setCurrentCaretaker(reporter);
+            animal.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+
+            Set<AnimalImage> animalImages = new LinkedHashSet<>();
+            for (int j = 0; j < IMAGES_PER_ANIMAL; j++) {
+                String key = "animals/" + i + "/" + j;
+                AnimalImage image = new AnimalImage("photo.jpg", key + ".jpg", "https://img/" + key + ".jpg", animal, reporter);
+                image.setId((long) (i * IMAGES_PER_ANIMAL + j));
+                image.setIsPrimary(j == 0);
+                image.setMediumUrl("https://img/" + key + "-medium.jpg");
+                image.setThumbnailUrl("https://img/" + key + "-thumb.jpg");
+                animalImages.add(image);
+                images.add(image);
+            }
+            animal.setImages(animalImages);
+            animals.add(animal);
+        }
+    }
+
+    // Full DTOs with users and images, as served by /near
+    @Benchmark
+    public List<AnimalDto> toDtoList() {
+        return animalMapper.toDtoList(animals);
+    }
+
+    // List projection used by the paged endpoints
+    @Benchmark
+    public int toSummaryDtos() {
+        int mapped = 0;
+        for (Animal animal : animals) {
+            if (animalMapper.toSummaryDto(animal, "https://img/thumb.jpg") != null) {
+                mapped++;
+            }
+        }
+        return mapped;
+    }
+
+    // Generated MapStruct image mapper on its own
+    @Benchmark
+    public List<AnimalImageDto> imageMapperToDtoList() {
+        return animalImageMapper.toDtoList(images);
+    }
+}
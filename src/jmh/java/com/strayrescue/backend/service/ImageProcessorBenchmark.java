@@ -0,0 +1,82 @@
+package com.strayrescue.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker-side cost of one upload: decode plus all resized, encoded variants
+ * (what ImageUploadService.processPendingImage does before talking to S3).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ImageProcessorBenchmark {
+
+    // format:width x height; phone photos are ~12MP, screenshots are PNG
+    @Param({"jpg:1600x1200", "jpg:4000x3000", "png:1600x1200"})
+    private String source;
+
+    private ImageProcessor imageProcessor;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageProcessor = new ImageProcessor();
+        ReflectionTestUtils.setField(imageProcessor, "meterRegistry", new SimpleMeterRegistry());
+        imageProcessor.registerMetrics();
+
+        String format = source.substring(0, source.indexOf(':'));
+        String[] size = source.substring(source.indexOf(':') + 1).split("x");
+        file = Files.createTempFile("benchmark-", "." + format);
+        ImageIO.write(photo(Integer.parseInt(size[0]), Integer.parseInt(size[1])), format, file.toFile());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long decodeAndWriteVariants() throws Exception {
+        long[] bytes = new long[1];
+        imageProcessor.writeVariants(imageProcessor.decode(file), (variant, data, length) -> bytes[0] += length);
+        return bytes[0];
+    }
+
+    // Gradient with some detail so the encoder has real work to do
+    private static BufferedImage photo(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.WHITE);
+        for (int x = 0; x < width; x += 40) {
+            g.drawLine(x, 0, width - x, height);
+        }
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,404 @@
+package com.strayrescue.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalSummaryDto;
+import com.strayrescue.backend.dto.response.CursorPage;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.event.AnimalImagesChangedEvent;
+import com.strayrescue.backend.geo.GeoGrid;
+import com.strayrescue.backend.model.AnimalStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches the DTOs served by the public animal read endpoints: animal
+ * details, keyset list pages (all and by status) and /near results.
+ *
+ * Entries are bounded by size (W-TinyLFU eviction) and by TTL. Writes evict
+ * only the entries they can change: the animal's own details, pages and
+ * near results that contain it, and the pages or near queries a new or
+ * re-statused animal would appear in. Those are found through indexes kept
+ * next to the caches (by animal id, by list, by grid cell reached) rather
+ * than by scanning every entry. The TTL covers the rest (a renamed
+ * reporter, a read that raced a write). Cached values are shared, callers
+ * must not modify them.
+ */
+@Component
+public class AnimalReadCache {
+
+    // Near results whose reach spans more cells than this are indexed under
+    // EVERY_CELL and checked on every located change
+    private static final int MAX_INDEXED_CELLS = 64;
+    private static final long EVERY_CELL = -1L;
+    private static final String ALL_ANIMALS = "all";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.animals.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.cache.animals.details-max-size:10000}")
+    private long detailsMaxSize;
+
+    @Value("${app.cache.animals.pages-max-size:2000}")
+    private long pagesMaxSize;
+
+    @Value("${app.cache.animals.near-max-size:5000}")
+    private long nearMaxSize;
+
+    private Cache<Long, AnimalDto> details;
+    private Cache<PageKey, CursorPage<AnimalSummaryDto>> pages;
+    private Cache<NearKey, List<AnimalDto>> near;
+
+    // Updated with the entry they describe, under the cache's lock for its key
+    private final CacheKeyIndex<Long, PageKey> pagesByAnimal = new CacheKeyIndex<>();
+    private final CacheKeyIndex<String, PageKey> pagesByList = new CacheKeyIndex<>();
+    private final CacheKeyIndex<Long, NearKey> nearByAnimal = new CacheKeyIndex<>();
+    private final CacheKeyIndex<Long, NearKey> nearByCell = new CacheKeyIndex<>();
+
+    // Bumped before every invalidation; a load that started earlier may have
+    // read the old rows, so its result is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        details = build(detailsMaxSize, "animals.details", (id, dto) -> { });
+        pages = build(pagesMaxSize, "animals.pages", this::unindexPage);
+        near = build(nearMaxSize, "animals.near", this::unindexNear);
+    }
+
+    private <K, V> Cache<K, V> build(long maxSize, String name, BiConsumer<K, V> unindex) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // Runs as part of the eviction, before the key can be loaded again
+                .<K, V>evictionListener((key, value, cause) -> {
+                    if (key != null && value != null) {
+                        unindex.accept(key, value);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    // Null results (unknown id) are not cached
+    public AnimalDto getDetails(Long id, Supplier<AnimalDto> loader) {
+        return getOrLoad(details, id, loader, (k, v) -> { }, (k, v) -> { });
+    }
+
+    public CursorPage<AnimalSummaryDto> getPage(PageKey key, Supplier<CursorPage<AnimalSummaryDto>> loader) {
+        return getOrLoad(pages, key, loader, this::indexPage, this::unindexPage);
+    }
+
+    public List<AnimalDto> getNear(NearKey key, Supplier<List<AnimalDto>> loader) {
+        return getOrLoad(near, key, loader, this::indexNear, this::unindexNear);
+    }
+
+    // Loaded outside the cache: the loaders run JDBC queries, and blocking
+    // inside Caffeine's compute (a ConcurrentHashMap bin lock) pins a virtual
+    // thread to its carrier. Concurrent misses on one key may both load.
+    // The put is a compute that only checks the generation and updates the
+    // indexes, so it cannot interleave with an invalidation of the same key:
+    // either the entry is stored first and then evicted, or the bumped
+    // generation drops it.
+    private <K, V> V getOrLoad(Cache<K, V> cache, K key, Supplier<V> loader,
+                               BiConsumer<K, V> index, BiConsumer<K, V> unindex) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            long loadedAt = generation.get();
+            value = loader.get();
+            if (value != null) {
+                V loaded = value;
+                cache.asMap().compute(key, (k, current) -> {
+                    if (generation.get() != loadedAt) {
+                        return current;
+                    }
+                    if (current != null) {
+                        unindex.accept(k, current);
+                    }
+                    index.accept(k, loaded);
+                    return loaded;
+                });
+            }
+        }
+        return value;
+    }
+
+    // Removes the entry when its cached value is stale, under the key's lock
+    private static <K, V> void invalidateIf(Cache<K, V> cache, K key, Predicate<V> stale, BiConsumer<K, V> unindex) {
+        cache.asMap().computeIfPresent(key, (k, value) -> {
+            if (!stale.test(value)) {
+                return value;
+            }
+            unindex.accept(k, value);
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        details.invalidateAll();
+        pages.asMap().keySet().forEach(key -> invalidateIf(pages, key, page -> true, this::unindexPage));
+        near.asMap().keySet().forEach(key -> invalidateIf(near, key, animals -> true, this::unindexNear));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        generation.incrementAndGet();
+        Long id = event.getAnimalId();
+        details.invalidate(id);
+
+        for (PageKey key : pagesByAnimal.get(id)) {
+            invalidateIf(pages, key, page -> true, this::unindexPage);
+        }
+        for (String list : listsJoinedBy(event)) {
+            for (PageKey key : pagesByList.get(list)) {
+                invalidateIf(pages, key, page -> wouldAppearOn(key, page, event), this::unindexPage);
+            }
+        }
+
+        for (NearKey key : nearByAnimal.get(id)) {
+            invalidateIf(near, key, animals -> true, this::unindexNear);
+        }
+        if (event.hasLocation()) {
+            List<NearKey> reaching = new ArrayList<>(
+                    nearByCell.get(GeoGrid.cellOf(event.getLatitude(), event.getLongitude())));
+            reaching.addAll(nearByCell.get(EVERY_CELL));
+            for (NearKey key : reaching) {
+                invalidateIf(near, key, animals -> wouldAppearIn(key, animals, event), this::unindexNear);
+            }
+        }
+    }
+
+    // Images only show up on animals that are already listed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImagesChanged(AnimalImagesChangedEvent event) {
+        generation.incrementAndGet();
+        Long id = event.getAnimalId();
+        details.invalidate(id);
+        for (PageKey key : pagesByAnimal.get(id)) {
+            invalidateIf(pages, key, page -> true, this::unindexPage);
+        }
+        for (NearKey key : nearByAnimal.get(id)) {
+            invalidateIf(near, key, animals -> true, this::unindexNear);
+        }
+    }
+
+    // Index groups in use; zero once every indexed entry is gone
+    int indexedGroupCount() {
+        return pagesByAnimal.groupCount() + pagesByList.groupCount()
+                + nearByAnimal.groupCount() + nearByCell.groupCount();
+    }
+
+    private void indexPage(PageKey key, CursorPage<AnimalSummaryDto> page) {
+        pagesByList.add(listOf(key.getStatus()), key);
+        page.getItems().forEach(item -> pagesByAnimal.add(item.getId(), key));
+    }
+
+    private void unindexPage(PageKey key, CursorPage<AnimalSummaryDto> page) {
+        pagesByList.remove(listOf(key.getStatus()), key);
+        page.getItems().forEach(item -> pagesByAnimal.remove(item.getId(), key));
+    }
+
+    private void indexNear(NearKey key, List<AnimalDto> animals) {
+        animals.forEach(animal -> nearByAnimal.add(animal.getId(), key));
+        cellsReachedBy(key, animals).forEach(cell -> nearByCell.add(cell, key));
+    }
+
+    private void unindexNear(NearKey key, List<AnimalDto> animals) {
+        animals.forEach(animal -> nearByAnimal.remove(animal.getId(), key));
+        cellsReachedBy(key, animals).forEach(cell -> nearByCell.remove(cell, key));
+    }
+
+    private static String listOf(AnimalStatus status) {
+        return status == null ? ALL_ANIMALS : status.name();
+    }
+
+    // The lists a new or re-statused animal joins
+    private static List<String> listsJoinedBy(AnimalChangedEvent event) {
+        if (event.getStatus() == null) {
+            return List.of();
+        }
+        switch (event.getType()) {
+            case CREATED:
+                return List.of(ALL_ANIMALS, event.getStatus().name());
+            case STATUS_CHANGED:
+                return List.of(event.getStatus().name());
+            default:
+                return List.of();
+        }
+    }
+
+    // Cells whose changes can alter the result: those under the bounding box
+    // of its reach, or EVERY_CELL when that is unbounded or too wide
+    private static List<Long> cellsReachedBy(NearKey key, List<AnimalDto> animals) {
+        double reach = reachKm(key, animals);
+        if (reach == Double.POSITIVE_INFINITY) {
+            return List.of(EVERY_CELL);
+        }
+        List<Long> cells = GeoGrid.cellsCovering(
+                GeoGrid.boundingBox(key.getLatitude(), key.getLongitude(), reach), MAX_INDEXED_CELLS);
+        return cells != null ? cells : List.of(EVERY_CELL);
+    }
+
+    private static boolean containsAnimal(CursorPage<AnimalSummaryDto> page, Long id) {
+        return page.getItems().stream().anyMatch(item -> id.equals(item.getId()));
+    }
+
+    // A page changes when an animal joins its list between the page's cursor
+    // and its last row (or anywhere after the cursor on the final page)
+    private static boolean wouldAppearOn(PageKey key, CursorPage<AnimalSummaryDto> page, AnimalChangedEvent event) {
+        boolean joinsList = key.getStatus() == null
+                ? event.getType() == AnimalChangedEvent.Type.CREATED
+                : (event.getType() == AnimalChangedEvent.Type.CREATED
+                        || event.getType() == AnimalChangedEvent.Type.STATUS_CHANGED)
+                        && key.getStatus() == event.getStatus();
+        if (!joinsList) {
+            return false;
+        }
+        if (event.getCreatedAt() == null) {
+            return true;
+        }
+        if (compare(event.getCreatedAt(), event.getAnimalId(), key.getCursorCreatedAt(), key.getCursorId()) >= 0) {
+            return false;
+        }
+        if (!page.isHasMore() || page.getItems().isEmpty()) {
+            return true;
+        }
+        AnimalSummaryDto last = page.getItems().get(page.getItems().size() - 1);
+        return compare(event.getCreatedAt(), event.getAnimalId(), last.getCreatedAt(), last.getId()) > 0;
+    }
+
+    // A near result changes when an active animal lands inside the searched
+    // circle, or closer than the farthest of the k nearest
+    private static boolean wouldAppearIn(NearKey key, List<AnimalDto> animals, AnimalChangedEvent event) {
+        boolean active = event.getType() != AnimalChangedEvent.Type.DELETED
+                && event.getStatus() != null
+                && !event.getStatus().isTerminal()
+                && event.hasLocation();
+        if (!active) {
+            return false;
+        }
+
+        double distance = GeoGrid.distanceKm(key.getLatitude(), key.getLongitude(),
+                event.getLatitude(), event.getLongitude());
+        return distance <= reachKm(key, animals);
+    }
+
+    // How far from the query point a change can alter the result: the radius,
+    // or closer than the farthest of the k nearest once k were found
+    private static double reachKm(NearKey key, List<AnimalDto> animals) {
+        double reach = key.getRadiusKm() != null ? key.getRadiusKm() : Double.POSITIVE_INFINITY;
+        if (key.getLimit() != null && animals.size() >= key.getLimit() && !animals.isEmpty()) {
+            AnimalDto farthest = animals.get(animals.size() - 1);
+            if (farthest.getLatitude() != null && farthest.getLongitude() != null) {
+                reach = Math.min(reach, GeoGrid.distanceKm(key.getLatitude(), key.getLongitude(),
+                        farthest.getLatitude().doubleValue(), farthest.getLongitude().doubleValue()));
+            }
+        }
+        return reach;
+    }
+
+    // Orders (createdAt, id) pairs the same way as the list queries
+    private static int compare(LocalDateTime createdAt, Long id, LocalDateTime otherCreatedAt, Long otherId) {
+        int byTime = createdAt.compareTo(otherCreatedAt);
+        return byTime != 0 ? byTime : Long.compare(id, otherId);
+    }
+
+    /**
+     * One keyset page of the all-animals list (status null) or of one status.
+     */
+    public static final class PageKey {
+        private final AnimalStatus status;
+        private final LocalDateTime cursorCreatedAt;
+        private final Long cursorId;
+        private final int size;
+
+        public PageKey(AnimalStatus status, LocalDateTime cursorCreatedAt, Long cursorId, int size) {
+            this.status = status;
+            this.cursorCreatedAt = cursorCreatedAt;
+            this.cursorId = cursorId;
+            this.size = size;
+        }
+
+        public AnimalStatus getStatus() { return status; }
+        public LocalDateTime getCursorCreatedAt() { return cursorCreatedAt; }
+        public Long getCursorId() { return cursorId; }
+        public int getSize() { return size; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PageKey)) return false;
+            PageKey other = (PageKey) o;
+            return size == other.size && status == other.status
+                    && cursorCreatedAt.equals(other.cursorCreatedAt) && cursorId.equals(other.cursorId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, cursorCreatedAt, cursorId, size);
+        }
+    }
+
+    /**
+     * A /near query. radiusKm is the effective radius (null only for an
+     * unbounded k-nearest query). The point is rounded to 0.001 degrees
+     * (about 110 m north-south) so requests from nearly the same spot share
+     * an entry; the query must run from the rounded point.
+     */
+    public static final class NearKey {
+        private static final int SCALE = 1000;
+
+        private final long latitudeE3;
+        private final long longitudeE3;
+        private final Double radiusKm;
+        private final Integer limit;
+
+        public NearKey(double latitude, double longitude, Double radiusKm, Integer limit) {
+            this.latitudeE3 = Math.round(latitude * SCALE);
+            this.longitudeE3 = Math.round(longitude * SCALE);
+            this.radiusKm = radiusKm;
+            this.limit = limit;
+        }
+
+        public double getLatitude() { return (double) latitudeE3 / SCALE; }
+        public double getLongitude() { return (double) longitudeE3 / SCALE; }
+        public Double getRadiusKm() { return radiusKm; }
+        public Integer getLimit() { return limit; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NearKey)) return false;
+            NearKey other = (NearKey) o;
+            return latitudeE3 == other.latitudeE3 && longitudeE3 == other.longitudeE3
+                    && Objects.equals(radiusKm, other.radiusKm) && Objects.equals(limit, other.limit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(latitudeE3, longitudeE3, radiusKm, limit);
+        }
+    }
+}
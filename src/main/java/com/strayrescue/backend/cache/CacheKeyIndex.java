@@ -0,0 +1,50 @@
+package com.strayrescue.backend.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache keys grouped by something their cached value depends on (an animal
+ * id, a grid cell, a list), so a write finds the entries it may change
+ * without scanning the cache.
+ *
+ * Every change to a group runs inside the map's compute for that group, so
+ * adding a key never races with dropping the group once it is empty.
+ */
+final class CacheKeyIndex<G, K> {
+
+    private final Map<G, Set<K>> groups = new ConcurrentHashMap<>();
+
+    void add(G group, K key) {
+        groups.compute(group, (g, keys) -> {
+            Set<K> result = keys != null ? keys : new HashSet<>();
+            result.add(key);
+            return result;
+        });
+    }
+
+    void remove(G group, K key) {
+        groups.computeIfPresent(group, (g, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    // A copy, so callers can invalidate (and so remove) while iterating
+    List<K> get(G group) {
+        List<K> snapshot = new ArrayList<>();
+        groups.computeIfPresent(group, (g, keys) -> {
+            snapshot.addAll(keys);
+            return keys;
+        });
+        return snapshot;
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+}
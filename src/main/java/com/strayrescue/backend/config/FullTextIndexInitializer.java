@@ -0,0 +1,48 @@
+package com.strayrescue.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FULLTEXT index used by animal search. Hibernate's schema update
+ * cannot declare FULLTEXT indexes, so it is created here if missing. Until the
+ * index exists (or when it cannot be created) search uses the LIKE query.
+ */
+@Component
+public class FullTextIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.fulltext-enabled:true}")
+    private boolean fullTextEnabled;
+
+    private volatile boolean available;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        if (!fullTextEnabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(
+                "CREATE FULLTEXT INDEX IF NOT EXISTS ft_animals_name_description ON animals (name, description)");
+            available = true;
+        } catch (DataAccessException e) {
+            logger.warn("Could not create full-text index on animals, search falls back to LIKE: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,97 @@
+package com.strayrescue.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Single shared S3 client. The client owns a pooled Apache HTTP client with
+ * keep-alive, so uploads reuse TLS connections; it is closed on shutdown.
+ * SDK retries are off: S3ImageStorage retries itself, and both layers
+ * retrying would multiply the attempts. Not created when images are stored
+ * on the local filesystem.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "s3", matchIfMissing = true)
+public class S3Config {
+
+    @Value("${aws.s3.region:eu-north-1}")
+    private String region;
+
+    @Value("${aws.access-key-id:}")
+    private String accessKeyId;
+
+    @Value("${aws.secret-access-key:}")
+    private String secretAccessKey;
+
+    // Optional endpoint override for S3-compatible stores (MinIO, local fakes)
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.s3.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${aws.s3.socket-timeout-ms:30000}")
+    private long socketTimeoutMs;
+
+    @Value("${aws.s3.connection-max-idle-ms:60000}")
+    private long connectionMaxIdleMs;
+
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        // Use default credential chain if no explicit credentials provided
+        // This will check: environment variables, IAM roles, credential files, etc.
+        AwsCredentialsProvider credentialsProvider;
+        if (accessKeyId != null && secretAccessKey != null &&
+            !accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            credentialsProvider = StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey));
+        } else {
+            credentialsProvider = DefaultCredentialsProvider.create();
+        }
+
+        return createS3Client(region, credentialsProvider, endpoint, maxConnections,
+                Duration.ofMillis(connectionTimeoutMs), Duration.ofMillis(socketTimeoutMs),
+                Duration.ofMillis(connectionMaxIdleMs));
+    }
+
+    public static S3Client createS3Client(String region, AwsCredentialsProvider credentialsProvider,
+                                          String endpoint, int maxConnections,
+                                          Duration connectionTimeout, Duration socketTimeout,
+                                          Duration connectionMaxIdle) {
+        ApacheHttpClient.Builder httpClient = ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(connectionTimeout)
+                .socketTimeout(socketTimeout)
+                .connectionMaxIdleTime(connectionMaxIdle)
+                .tcpKeepAlive(true)
+                .useIdleConnectionReaper(true);
+
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(httpClient)
+                .overrideConfiguration(config -> config.retryPolicy(RetryPolicy.none()));
+
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint))
+                   .forcePathStyle(true);
+        }
+        return builder.build();
+    }
+}
@@ -1,8 +1,13 @@
 package com.strayrescue.backend.config;
 
+import com.strayrescue.backend.ratelimit.RateLimitFilter;
+import com.strayrescue.backend.ratelimit.RateLimitRule;
+import com.strayrescue.backend.ratelimit.RateLimiter;
 import com.strayrescue.backend.security.AuthTokenFilter;
 import com.strayrescue.backend.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,8 +22,14 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.http.HttpMethod;
 
+import java.util.List;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -27,6 +38,44 @@ public class WebSecurityConfig {
     @Autowired
     CustomUserDetailsService userDetailsService;
 
+    // BCrypt cost factor; raising it rehashes each password at its next login
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Per-client request limits, see rateLimiter() for the route groups
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${app.rate-limit.max-clients:100000}")
+    private long rateLimitMaxClients;
+
+    @Value("${app.rate-limit.auth.per-second:1}")
+    private double authPerSecond;
+
+    @Value("${app.rate-limit.auth.burst:10}")
+    private int authBurst;
+
+    @Value("${app.rate-limit.search.per-second:5}")
+    private double searchPerSecond;
+
+    @Value("${app.rate-limit.search.burst:20}")
+    private int searchBurst;
+
+    @Value("${app.rate-limit.uploads.per-second:0.5}")
+    private double uploadsPerSecond;
+
+    @Value("${app.rate-limit.uploads.burst:10}")
+    private int uploadsBurst;
+
+    @Value("${app.rate-limit.default.per-second:50}")
+    private double defaultPerSecond;
+
+    @Value("${app.rate-limit.default.burst:100}")
+    private int defaultBurst;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -37,6 +86,7 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -48,7 +98,22 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    // Route groups, first match wins. Search and /near are anonymous and the
+    // most expensive reads; auth is limited hard against password guessing.
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(List.of(
+                new RateLimitRule("auth", authPerSecond, authBurst, antMatcher("/api/auth/**")),
+                new RateLimitRule("search", searchPerSecond, searchBurst, new OrRequestMatcher(
+                        antMatcher("/api/animals/near/**"),
+                        antMatcher("/api/animals/search/**"))),
+                new RateLimitRule("uploads", uploadsPerSecond, uploadsBurst,
+                        antMatcher(HttpMethod.POST, "/api/images/**")),
+                new RateLimitRule("default", defaultPerSecond, defaultBurst, AnyRequestMatcher.INSTANCE)),
+                rateLimitMaxClients, meterRegistry);
     }
 
     @Bean
@@ -69,6 +134,9 @@ public class WebSecurityConfig {
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitEnabled) {
+            http.addFilterAfter(new RateLimitFilter(rateLimiter(), meterRegistry), AuthTokenFilter.class);
+        }
 
         return http.build();
     }
@@ -1,24 +1,40 @@
 package com.strayrescue.backend.controller;
 
 import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalSummaryDto;
+import com.strayrescue.backend.dto.response.ClusterDto;
+import com.strayrescue.backend.dto.response.CursorPage;
+import com.strayrescue.backend.dto.response.DuplicateCandidateDto;
+import com.strayrescue.backend.dto.response.SightingDto;
+import com.strayrescue.backend.geo.AnimalClusterTiles;
+import com.strayrescue.backend.live.LiveMapBroadcaster;
+import com.strayrescue.backend.live.LiveMapFullException;
 import com.strayrescue.backend.mapper.AnimalMapper;
+import com.strayrescue.backend.mapper.SightingMapper;
 import com.strayrescue.backend.model.Animal;
 import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.Sighting;
 import com.strayrescue.backend.model.User;
 import com.strayrescue.backend.service.AnimalService;
 import com.strayrescue.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/animals")
 @CrossOrigin(origins = "*")
 public class AnimalController {
 
+    private static final int MAX_NEAR_LIMIT = 500;
+
     @Autowired
     private AnimalService animalService;
 
@@ -28,6 +44,15 @@ public class AnimalController {
     @Autowired
     private AnimalMapper animalMapper;
 
+    @Autowired
+    private SightingMapper sightingMapper;
+
+    @Autowired
+    private AnimalClusterTiles clusterTiles;
+
+    @Autowired
+    private LiveMapBroadcaster liveMapBroadcaster;
+
     // Report a new animal
     @PostMapping
     public ResponseEntity<?> reportAnimal(@RequestBody AnimalReportRequest request) {
@@ -56,55 +81,145 @@ public class AnimalController {
         }
     }
 
-    // Get all animals
+    // Animals this report may be a duplicate of, best match first. Call before
+    // reporting; if the user picks one, add a sighting to it instead.
+    @PostMapping("/duplicates")
+    public ResponseEntity<?> findDuplicateCandidates(@RequestBody AnimalReportRequest request) {
+        if (request.getSpecies() == null || request.getLatitude() == null || request.getLongitude() == null) {
+            return ResponseEntity.badRequest().body("species, latitude and longitude are required");
+        }
+        List<DuplicateCandidateDto> candidates = animalService.findDuplicateCandidates(
+            request.getSpecies(),
+            request.getLatitude(),
+            request.getLongitude(),
+            request.getDescription(),
+            request.getLocationDescription()
+        );
+        return ResponseEntity.ok(candidates);
+    }
+
+    // Record that an existing animal was seen again
+    @PostMapping("/{id}/sightings")
+    public ResponseEntity<?> addSighting(@PathVariable Long id, @RequestBody SightingRequest request) {
+        try {
+            Optional<User> userOptional = userService.getUserById(request.getReportedByUserId());
+            if (userOptional.isEmpty()) {
+                return ResponseEntity.badRequest().body("User not found");
+            }
+
+            Sighting sighting = animalService.recordSighting(
+                id,
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getNote(),
+                userOptional.get()
+            );
+            return ResponseEntity.ok(sightingMapper.toDto(sighting));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Sightings of an animal, newest first
+    @GetMapping("/{id}/sightings")
+    public ResponseEntity<List<SightingDto>> getSightings(@PathVariable Long id) {
+        return ResponseEntity.ok(sightingMapper.toDtoList(animalService.getSightings(id)));
+    }
+
+    // Get all animals, newest first. Pass the returned nextCursor to get the next page.
     @GetMapping
-    public ResponseEntity<List<AnimalDto>> getAllAnimals() {
-        List<Animal> animals = animalService.getAllAnimals();
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+    public ResponseEntity<CursorPage<AnimalSummaryDto>> getAllAnimals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animalService.getAnimalPage(cursor, size));
     }
 
     // Get animal by ID
     @GetMapping("/{id}")
     public ResponseEntity<AnimalDto> getAnimalById(@PathVariable Long id) {
-        Optional<Animal> animal = animalService.getAnimalById(id);
-        return animal.map(a -> ResponseEntity.ok(animalMapper.toDto(a)))
+        return animalService.getAnimalDetails(id)
+                    .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
     }
 
     // Get animals by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<AnimalDto>> getAnimalsByStatus(@PathVariable AnimalStatus status) {
-        List<Animal> animals = animalService.getAnimalsByStatus(status);
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+    public ResponseEntity<CursorPage<AnimalSummaryDto>> getAnimalsByStatus(
+            @PathVariable AnimalStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animalService.getAnimalsByStatus(status, cursor, size));
     }
 
     // Search animals by species
     @GetMapping("/search/species")
-    public ResponseEntity<List<AnimalDto>> searchBySpecies(@RequestParam String species) {
-        List<Animal> animals = animalService.searchBySpecies(species);
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+    public ResponseEntity<CursorPage<AnimalSummaryDto>> searchBySpecies(
+            @RequestParam String species,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animalService.searchBySpecies(species, cursor, size));
     }
 
-    // Find animals near location
+    // Find active animals near location, nearest first.
+    // With `limit`, returns the k nearest (optionally within radiusKm).
     @GetMapping("/near")
     public ResponseEntity<List<AnimalDto>> findAnimalsNear(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "10.0") Double radiusKm) {
-        List<Animal> animals = animalService.findAnimalsNearLocation(latitude, longitude, radiusKm);
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_NEAR_LIMIT)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // "NaN" and "Infinity" bind to Double; neither is a usable point or radius
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || (radiusKm != null && !(Double.isFinite(radiusKm) && radiusKm > 0))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(animalService.findAnimalDtosNearLocation(latitude, longitude, radiusKm, limit));
+    }
+
+    // Map clusters of active animals for the tiles covering the box at this
+    // zoom level (Web Mercator z/x/y). bbox is minLng,minLat,maxLng,maxLat.
+    @GetMapping("/clusters")
+    public ResponseEntity<List<ClusterDto>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        if (!clusterTiles.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        double[] box = parseBbox(bbox);
+        return ResponseEntity.ok(clusterTiles.clustersIn(box[1], box[3], box[0], box[2], zoom));
+    }
+
+    // Live map: a Server-Sent Events stream of creates, status changes and
+    // deletes inside bbox (minLng,minLat,maxLng,maxLat), optionally only for
+    // some statuses. A status change is sent if either status matches.
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamLiveMap(
+            @RequestParam String bbox,
+            @RequestParam(required = false) Set<AnimalStatus> statuses) {
+        double[] box = parseBbox(bbox);
+        try {
+            return ResponseEntity.ok(liveMapBroadcaster.subscribe(box[1], box[3], box[0], box[2],
+                    statuses != null ? statuses : Set.of()));
+        } catch (LiveMapFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(e.getMessage());
+        }
     }
 
     // Search animals
     @GetMapping("/search")
-    public ResponseEntity<List<AnimalDto>> searchAnimals(@RequestParam String q) {
-        List<Animal> animals = animalService.searchAnimals(q);
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+    public ResponseEntity<CursorPage<AnimalSummaryDto>> searchAnimals(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animalService.searchAnimals(q, cursor, size));
     }
 
     // Update animal status - FIXED TO USE DTOs
@@ -132,10 +247,29 @@ public class AnimalController {
 
     // Get recent animals
     @GetMapping("/recent")
-    public ResponseEntity<List<AnimalDto>> getRecentAnimals() {
-        List<Animal> animals = animalService.getRecentAnimals();
-        List<AnimalDto> animalDtos = animalMapper.toDtoList(animals);
-        return ResponseEntity.ok(animalDtos);
+    public ResponseEntity<CursorPage<AnimalSummaryDto>> getRecentAnimals(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animalService.getRecentAnimals(cursor, size));
+    }
+
+    // Malformed cursor tokens and map boxes
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // minLng,minLat,maxLng,maxLat
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        double[] box = new double[4];
+        for (int i = 0; i < 4; i++) {
+            box[i] = Double.parseDouble(parts[i].trim());
+        }
+        return box;
     }
 
     // Request classes
@@ -175,6 +309,25 @@ public class AnimalController {
         public void setReportedByUserId(Long reportedByUserId) { this.reportedByUserId = reportedByUserId; }
     }
 
+    public static class SightingRequest {
+        private Double latitude;
+        private Double longitude;
+        private String note;
+        private Long reportedByUserId;
+
+        public Double getLatitude() { return latitude; }
+        public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+        public Double getLongitude() { return longitude; }
+        public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+        public String getNote() { return note; }
+        public void setNote(String note) { this.note = note; }
+
+        public Long getReportedByUserId() { return reportedByUserId; }
+        public void setReportedByUserId(Long reportedByUserId) { this.reportedByUserId = reportedByUserId; }
+    }
+
     public static class StatusUpdateRequest {
         private AnimalStatus status;
 
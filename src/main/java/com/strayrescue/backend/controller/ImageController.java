@@ -6,10 +6,13 @@ import com.strayrescue.backend.mapper.AnimalImageMapper;
 import com.strayrescue.backend.model.AnimalImage;
 import com.strayrescue.backend.model.User;
 import com.strayrescue.backend.repository.UserRepository;
+import com.strayrescue.backend.service.ImageQueueFullException;
 import com.strayrescue.backend.service.ImageUploadService;
 import com.strayrescue.backend.service.AnimalService;
 import com.strayrescue.backend.model.Animal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -36,7 +39,8 @@ public class ImageController {
     private AnimalImageMapper animalImageMapper;
 
     /**
-     * Upload images for an animal
+     * Upload images for an animal. Images are processed in the background;
+     * poll GET /api/images/{imageId}/status until READY.
      * POST /api/images/animals/{animalId}
      */
     @PostMapping("/animals/{animalId}")
@@ -55,12 +59,14 @@ public class ImageController {
             // Convert to DTOs
             List<AnimalImageDto> imageDtos = animalImageMapper.toDtoList(uploadedImages);
             
-            return ResponseEntity.ok(new ImageUploadResponse(
-                "Images uploaded successfully", 
+            return ResponseEntity.accepted().body(new ImageUploadResponse(
+                "Images accepted for processing", 
                 uploadedImages.size(), 
                 imageDtos
             ));
             
+        } catch (ImageQueueFullException e) {
+            return queueFull(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -77,6 +83,17 @@ public class ImageController {
         return ResponseEntity.ok(imageDtos);
     }
 
+    /**
+     * Get processing status of an uploaded image
+     * GET /api/images/{imageId}/status
+     */
+    @GetMapping("/{imageId}/status")
+    public ResponseEntity<AnimalImageDto> getImageStatus(@PathVariable Long imageId) {
+        return imageUploadService.getImage(imageId)
+                .map(image -> ResponseEntity.ok(animalImageMapper.toDto(image)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Get primary image for an animal
      * GET /api/images/animals/{animalId}/primary
@@ -141,12 +158,20 @@ public class ImageController {
             AnimalImage uploadedImage = imageUploadService.uploadSingleImage(animal, file, currentUser);
             AnimalImageDto imageDto = animalImageMapper.toDto(uploadedImage);
             
-            return ResponseEntity.ok(imageDto);
+            return ResponseEntity.accepted().body(imageDto);
+        } catch (ImageQueueFullException e) {
+            return queueFull(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
+    private ResponseEntity<ErrorResponse> queueFull(ImageQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
     // Helper method to get current user
     private User getCurrentUser(Authentication authentication) {
         String username = authentication.getName();
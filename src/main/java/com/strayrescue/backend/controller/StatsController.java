@@ -0,0 +1,65 @@
+package com.strayrescue.backend.controller;
+
+import com.strayrescue.backend.dto.MessageResponse;
+import com.strayrescue.backend.dto.response.PeriodStatDto;
+import com.strayrescue.backend.dto.response.ReporterStatDto;
+import com.strayrescue.backend.dto.response.StatsSummaryDto;
+import com.strayrescue.backend.service.AnimalStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    @Autowired
+    private AnimalStatsService animalStatsService;
+
+    // Current animal counts by status and species
+    @GetMapping
+    public ResponseEntity<StatsSummaryDto> getSummary() {
+        return ResponseEntity.ok(animalStatsService.getSummary());
+    }
+
+    // Animals reported per day or week (granularity=week), by species and current status
+    @GetMapping("/reports")
+    public ResponseEntity<List<PeriodStatDto>> getReportsOverTime(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String species,
+            @RequestParam(defaultValue = "day") String granularity) {
+        if (!granularity.equals("day") && !granularity.equals("week")) {
+            throw new IllegalArgumentException("granularity must be day or week");
+        }
+        return ResponseEntity.ok(animalStatsService.getReportsOverTime(from, to, species, granularity.equals("week")));
+    }
+
+    // Most active reporters
+    @GetMapping("/reporters")
+    public ResponseEntity<List<ReporterStatDto>> getTopReporters(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(animalStatsService.getTopReporters(limit));
+    }
+
+    // Recompute the rollups from the base tables (admins only)
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> rebuild() {
+        if (!animalStatsService.rebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("A rebuild is already running"));
+        }
+        return ResponseEntity.ok(new MessageResponse("Statistics rebuilt"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -3,9 +3,14 @@ package com.strayrescue.backend.controller;
 import com.strayrescue.backend.dto.response.UserDto;
 import com.strayrescue.backend.mapper.UserMapper;
 import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.model.UserRole;
+import com.strayrescue.backend.security.PasswordHashingBusyException;
 import com.strayrescue.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -37,6 +42,10 @@ public class UserController {
             // Return DTO instead of raw entity
             UserDto userDto = userMapper.toDto(user);
             return ResponseEntity.ok(userDto);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -77,6 +86,18 @@ public class UserController {
         }
     }
 
+    // Change a user's role (admins only)
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateUserRole(@PathVariable Long id, @RequestBody RoleUpdateRequest request) {
+        try {
+            User updatedUser = userService.updateUserRole(id, request.getRole());
+            return ResponseEntity.ok(userMapper.toDto(updatedUser));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Delete user
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
@@ -132,4 +153,11 @@ public class UserController {
         public String getPhoneNumber() { return phoneNumber; }
         public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
     }
+
+    public static class RoleUpdateRequest {
+        private UserRole role;
+
+        public UserRole getRole() { return role; }
+        public void setRole(UserRole role) { this.role = role; }
+    }
 }
\ No newline at end of file
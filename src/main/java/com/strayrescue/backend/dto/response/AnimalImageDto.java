@@ -7,10 +7,14 @@ public class AnimalImageDto {
     private String fileName;
     private String s3Key;
     private String s3Url;
+    private String thumbnailUrl;
+    private String mediumUrl;
     private Long fileSize;
     private String contentType;
     private Boolean isPrimary;
     private Integer displayOrder;
+    private String status;
+    private String failureReason;
     private String description;
     private LocalDateTime uploadedAt;
     private LocalDateTime createdAt;
@@ -33,6 +37,12 @@ public class AnimalImageDto {
     public String getS3Url() { return s3Url; }
     public void setS3Url(String s3Url) { this.s3Url = s3Url; }
     
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    
+    public String getMediumUrl() { return mediumUrl; }
+    public void setMediumUrl(String mediumUrl) { this.mediumUrl = mediumUrl; }
+    
     public Long getFileSize() { return fileSize; }
     public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
     
@@ -45,6 +55,12 @@ public class AnimalImageDto {
     public Integer getDisplayOrder() { return displayOrder; }
     public void setDisplayOrder(Integer displayOrder) { this.displayOrder = displayOrder; }
     
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+    
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     
@@ -0,0 +1,48 @@
+package com.strayrescue.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AnimalSummaryDto {
+    private Long id;
+    private String name;
+    private String species;
+    private String status;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private String locationDescription;
+    private LocalDateTime createdAt;
+    private String primaryImageUrl;
+    
+    // Slim list projection - no image sets or user references
+    
+    public AnimalSummaryDto() {}
+    
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getSpecies() { return species; }
+    public void setSpecies(String species) { this.species = species; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public String getLocationDescription() { return locationDescription; }
+    public void setLocationDescription(String locationDescription) { this.locationDescription = locationDescription; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public String getPrimaryImageUrl() { return primaryImageUrl; }
+    public void setPrimaryImageUrl(String primaryImageUrl) { this.primaryImageUrl = primaryImageUrl; }
+}
@@ -0,0 +1,31 @@
+package com.strayrescue.backend.dto.response;
+
+import com.strayrescue.backend.model.AnimalStatus;
+
+import java.util.Map;
+
+public class ClusterDto {
+    private double latitude;  // Centroid of the animals in the cluster
+    private double longitude;
+    private int count;
+    private Map<AnimalStatus, Integer> countsByStatus;
+    private Long representativeId; // Animal closest to the cluster cell's center
+    
+    public ClusterDto() {}
+    
+    // Getters and setters
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+    
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+    
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+    
+    public Map<AnimalStatus, Integer> getCountsByStatus() { return countsByStatus; }
+    public void setCountsByStatus(Map<AnimalStatus, Integer> countsByStatus) { this.countsByStatus = countsByStatus; }
+    
+    public Long getRepresentativeId() { return representativeId; }
+    public void setRepresentativeId(Long representativeId) { this.representativeId = representativeId; }
+}
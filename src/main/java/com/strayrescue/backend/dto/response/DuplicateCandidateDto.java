@@ -0,0 +1,30 @@
+package com.strayrescue.backend.dto.response;
+
+public class DuplicateCandidateDto {
+    private AnimalSummaryDto animal;
+    private double distanceKm;
+    private double textSimilarity; // 0..1, shared words in description and location
+    private double score;          // 0..1, higher is more likely the same animal
+    
+    public DuplicateCandidateDto() {}
+    
+    public DuplicateCandidateDto(AnimalSummaryDto animal, double distanceKm, double textSimilarity, double score) {
+        this.animal = animal;
+        this.distanceKm = distanceKm;
+        this.textSimilarity = textSimilarity;
+        this.score = score;
+    }
+    
+    // Getters and setters
+    public AnimalSummaryDto getAnimal() { return animal; }
+    public void setAnimal(AnimalSummaryDto animal) { this.animal = animal; }
+    
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+    
+    public double getTextSimilarity() { return textSimilarity; }
+    public void setTextSimilarity(double textSimilarity) { this.textSimilarity = textSimilarity; }
+    
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,37 @@
+package com.strayrescue.backend.dto.response;
+
+import com.strayrescue.backend.model.AnimalStatus;
+
+public class LiveMapEventDto {
+    private String type; // created, status_changed or deleted
+    private Long animalId;
+    private String species;
+    private AnimalStatus status;
+    private AnimalStatus previousStatus;
+    private Double latitude;
+    private Double longitude;
+    
+    public LiveMapEventDto() {}
+    
+    // Getters and setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public Long getAnimalId() { return animalId; }
+    public void setAnimalId(Long animalId) { this.animalId = animalId; }
+    
+    public String getSpecies() { return species; }
+    public void setSpecies(String species) { this.species = species; }
+    
+    public AnimalStatus getStatus() { return status; }
+    public void setStatus(AnimalStatus status) { this.status = status; }
+    
+    public AnimalStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(AnimalStatus previousStatus) { this.previousStatus = previousStatus; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+}
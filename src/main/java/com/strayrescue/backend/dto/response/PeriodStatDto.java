@@ -0,0 +1,34 @@
+package com.strayrescue.backend.dto.response;
+
+import com.strayrescue.backend.model.AnimalStatus;
+
+import java.time.LocalDate;
+
+public class PeriodStatDto {
+    private LocalDate periodStart; // The day, or the Monday of the week
+    private String species;
+    private AnimalStatus status;
+    private long count;
+    
+    public PeriodStatDto() {}
+    
+    public PeriodStatDto(LocalDate periodStart, String species, AnimalStatus status, long count) {
+        this.periodStart = periodStart;
+        this.species = species;
+        this.status = status;
+        this.count = count;
+    }
+    
+    // Getters and setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    
+    public String getSpecies() { return species; }
+    public void setSpecies(String species) { this.species = species; }
+    
+    public AnimalStatus getStatus() { return status; }
+    public void setStatus(AnimalStatus status) { this.status = status; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
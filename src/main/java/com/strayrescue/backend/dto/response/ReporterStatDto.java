@@ -0,0 +1,25 @@
+package com.strayrescue.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+public class ReporterStatDto {
+    private Long userId;
+    private String username;
+    private long reportedCount;
+    private LocalDateTime lastReportedAt;
+    
+    public ReporterStatDto() {}
+    
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public long getReportedCount() { return reportedCount; }
+    public void setReportedCount(long reportedCount) { this.reportedCount = reportedCount; }
+    
+    public LocalDateTime getLastReportedAt() { return lastReportedAt; }
+    public void setLastReportedAt(LocalDateTime lastReportedAt) { this.lastReportedAt = lastReportedAt; }
+}
@@ -0,0 +1,38 @@
+package com.strayrescue.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class SightingDto {
+    private Long id;
+    private Long animalId;
+    private String reportedByUsername;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private String note;
+    private LocalDateTime seenAt;
+    
+    public SightingDto() {}
+    
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getAnimalId() { return animalId; }
+    public void setAnimalId(Long animalId) { this.animalId = animalId; }
+    
+    public String getReportedByUsername() { return reportedByUsername; }
+    public void setReportedByUsername(String reportedByUsername) { this.reportedByUsername = reportedByUsername; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+    
+    public LocalDateTime getSeenAt() { return seenAt; }
+    public void setSeenAt(LocalDateTime seenAt) { this.seenAt = seenAt; }
+}
@@ -0,0 +1,27 @@
+package com.strayrescue.backend.dto.response;
+
+import com.strayrescue.backend.model.AnimalStatus;
+
+import java.util.Map;
+
+public class StatsSummaryDto {
+    private long total;
+    private Map<AnimalStatus, Long> byStatus;
+    private Map<String, Long> bySpecies;
+    private Map<String, Map<AnimalStatus, Long>> bySpeciesAndStatus;
+    
+    public StatsSummaryDto() {}
+    
+    // Getters and setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    
+    public Map<AnimalStatus, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<AnimalStatus, Long> byStatus) { this.byStatus = byStatus; }
+    
+    public Map<String, Long> getBySpecies() { return bySpecies; }
+    public void setBySpecies(Map<String, Long> bySpecies) { this.bySpecies = bySpecies; }
+    
+    public Map<String, Map<AnimalStatus, Long>> getBySpeciesAndStatus() { return bySpeciesAndStatus; }
+    public void setBySpeciesAndStatus(Map<String, Map<AnimalStatus, Long>> bySpeciesAndStatus) { this.bySpeciesAndStatus = bySpeciesAndStatus; }
+}
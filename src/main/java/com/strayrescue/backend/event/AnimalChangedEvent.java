@@ -0,0 +1,85 @@
+package com.strayrescue.backend.event;
+
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by AnimalService after an animal is created, changed or deleted.
+ * Carries a snapshot of the fields that in-memory views (spatial index, map
+ * tiles, live subscriptions) need, so listeners never touch lazy entities.
+ */
+public class AnimalChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long animalId;
+    private final String species;
+    private final String previousSpecies;
+    private final AnimalStatus status;
+    private final AnimalStatus previousStatus;
+    private final Double latitude;
+    private final Double longitude;
+    private final LocalDateTime createdAt;
+    private final Long reportedById;
+
+    public AnimalChangedEvent(Type type, Animal animal, AnimalStatus previousStatus) {
+        this(type, animal, previousStatus, animal.getSpecies());
+    }
+
+    public AnimalChangedEvent(Type type, Animal animal, AnimalStatus previousStatus, String previousSpecies) {
+        this.type = type;
+        this.animalId = animal.getId();
+        this.species = animal.getSpecies();
+        this.previousSpecies = previousSpecies;
+        this.status = animal.getStatus();
+        this.previousStatus = previousStatus;
+        this.latitude = animal.getLatitude() != null ? animal.getLatitude().doubleValue() : null;
+        this.longitude = animal.getLongitude() != null ? animal.getLongitude().doubleValue() : null;
+        this.createdAt = animal.getCreatedAt();
+        // getId() on the lazy reporter does not load it
+        this.reportedById = animal.getReportedBy() != null ? animal.getReportedBy().getId() : null;
+    }
+
+    public static AnimalChangedEvent created(Animal animal) {
+        return new AnimalChangedEvent(Type.CREATED, animal, null);
+    }
+
+    public static AnimalChangedEvent updated(Animal animal) {
+        return new AnimalChangedEvent(Type.UPDATED, animal, animal.getStatus());
+    }
+
+    public static AnimalChangedEvent updated(Animal animal, String previousSpecies) {
+        return new AnimalChangedEvent(Type.UPDATED, animal, animal.getStatus(), previousSpecies);
+    }
+
+    public static AnimalChangedEvent statusChanged(Animal animal, AnimalStatus previousStatus) {
+        return new AnimalChangedEvent(Type.STATUS_CHANGED, animal, previousStatus);
+    }
+
+    public static AnimalChangedEvent deleted(Animal animal) {
+        return new AnimalChangedEvent(Type.DELETED, animal, animal.getStatus());
+    }
+
+    public Type getType() { return type; }
+    public Long getAnimalId() { return animalId; }
+    public String getSpecies() { return species; }
+    public String getPreviousSpecies() { return previousSpecies; }
+    public AnimalStatus getStatus() { return status; }
+    public AnimalStatus getPreviousStatus() { return previousStatus; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getReportedById() { return reportedById; }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.strayrescue.backend.event;
+
+/**
+ * Published by ImageUploadService when an animal's images change: an upload
+ * is accepted or finishes processing, an image is deleted or the primary
+ * image changes.
+ */
+public class AnimalImagesChangedEvent {
+
+    private final Long animalId;
+
+    public AnimalImagesChangedEvent(Long animalId) {
+        this.animalId = animalId;
+    }
+
+    public Long getAnimalId() { return animalId; }
+}
@@ -0,0 +1,19 @@
+package com.strayrescue.backend.event;
+
+/**
+ * Published by UserService when a user's profile or role changes or the
+ * user is deleted, so cached principals for that user are dropped.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String username;
+
+    public UserChangedEvent(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+}
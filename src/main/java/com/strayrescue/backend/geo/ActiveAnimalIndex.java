@@ -0,0 +1,274 @@
+package com.strayrescue.backend.geo;
+
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.repository.AnimalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory spatial index of animals that are still relevant on the map
+ * (every status except the terminal ones). Serves radius and k-nearest
+ * queries for /api/animals/near without touching the database.
+ *
+ * Loaded at startup, kept in sync through AnimalChangedEvent and rebuilt
+ * from the table periodically to repair any drift. Points are tagged with
+ * the animal's status ordinal for per-status aggregation.
+ */
+@Component
+public class ActiveAnimalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveAnimalIndex.class);
+
+    private static final double MAX_SEARCH_RADIUS_KM = Math.PI * GeoGrid.EARTH_RADIUS_KM;
+    private static final double INITIAL_KNN_RADIUS_KM = 2.0;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private PointQuadTree tree = new PointQuadTree();
+    private Map<Long, double[]> locations = new HashMap<>();
+    private volatile boolean ready;
+
+    // Changes that arrive while a rebuild is reading the table
+    private List<AnimalChangedEvent> pendingDuringRebuild;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Told about every change while the write lock is held, so nothing
+     * computed under {@link #underReadLock} can be cached after the change
+     * without the listener seeing it.
+     */
+    public interface ChangeListener {
+        // A point appeared, disappeared or changed status at this location
+        void onChanged(double latitude, double longitude);
+
+        // The whole index was replaced
+        void onRebuilt();
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the action with the read lock held. Changes wait until it returns,
+     * then reach the listeners, so a result the action caches is invalidated
+     * by any later change.
+     */
+    public <T> T underReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every active animal in the box; the tag is the AnimalStatus ordinal.
+     */
+    public void forEachInBox(double minLat, double maxLat, double minLng, double maxLng,
+                             PointQuadTree.TaggedPointVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            tree.forEachInBox(minLat, maxLat, minLng, maxLng, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of animals within the radius, nearest first.
+     */
+    public List<Neighbor> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        GeoGrid.BoundingBox box = GeoGrid.boundingBox(latitude, longitude, radiusKm);
+        List<Neighbor> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            tree.forEachInBox(box.getMinLat(), box.getMaxLat(), box.getMinLng(), box.getMaxLng(),
+                (id, lat, lng) -> {
+                    double distance = GeoGrid.distanceKm(latitude, longitude, lat, lng);
+                    if (distance <= radiusKm) {
+                        result.add(new Neighbor(id, distance));
+                    }
+                });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * The k animals nearest to the point, optionally bounded by a radius.
+     * The search radius grows until k animals are found or the bound is hit.
+     */
+    public List<Neighbor> findNearest(double latitude, double longitude, int k, Double maxRadiusKm) {
+        double limit = maxRadiusKm != null ? Math.min(maxRadiusKm, MAX_SEARCH_RADIUS_KM) : MAX_SEARCH_RADIUS_KM;
+        double radius = Math.min(INITIAL_KNN_RADIUS_KM, limit);
+
+        while (true) {
+            List<Neighbor> found = findWithinRadius(latitude, longitude, radius);
+            // Written so a NaN radius ends the search too
+            if (found.size() >= k || !(radius < limit)) {
+                return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+            }
+            radius = Math.min(radius * 4, limit);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            double[] previous = locations.get(event.getAnimalId());
+            apply(tree, locations, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            for (ChangeListener listener : listeners) {
+                if (previous != null) {
+                    listener.onChanged(previous[0], previous[1]);
+                }
+                if (event.hasLocation()) {
+                    listener.onChanged(event.getLatitude(), event.getLongitude());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+        ready = true;
+        logger.info("Active animal index loaded with {} animals", size());
+    }
+
+    @Scheduled(initialDelayString = "${app.animal-index.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.animal-index.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        int before = size();
+        rebuild();
+        logger.debug("Active animal index reconciled: {} -> {} animals", before, size());
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        PointQuadTree newTree = new PointQuadTree();
+        Map<Long, double[]> newLocations = new HashMap<>();
+        try {
+            EnumSet<AnimalStatus> terminal = EnumSet.noneOf(AnimalStatus.class);
+            for (AnimalStatus status : AnimalStatus.values()) {
+                if (status.isTerminal()) {
+                    terminal.add(status);
+                }
+            }
+            for (AnimalRepository.LocationView row : animalRepository.findLocationsExcludingStatuses(terminal)) {
+                double lat = row.getLatitude().doubleValue();
+                double lng = row.getLongitude().doubleValue();
+                newTree.insert(row.getId(), lat, lng, row.getStatus().ordinal());
+                newLocations.put(row.getId(), new double[] {lat, lng});
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (AnimalChangedEvent event : pendingDuringRebuild) {
+                apply(newTree, newLocations, event);
+            }
+            pendingDuringRebuild = null;
+            tree = newTree;
+            locations = newLocations;
+            listeners.forEach(ChangeListener::onRebuilt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(PointQuadTree tree, Map<Long, double[]> locations, AnimalChangedEvent event) {
+        long id = event.getAnimalId();
+        double[] previous = locations.remove(id);
+        if (previous != null) {
+            tree.remove(id, previous[0], previous[1]);
+        }
+
+        boolean active = event.getType() != AnimalChangedEvent.Type.DELETED
+                && event.getStatus() != null
+                && !event.getStatus().isTerminal()
+                && event.hasLocation();
+        if (active) {
+            double lat = event.getLatitude();
+            double lng = event.getLongitude();
+            tree.insert(id, lat, lng, event.getStatus().ordinal());
+            locations.put(id, new double[] {lat, lng});
+        }
+    }
+
+    public static final class Neighbor implements Comparable<Neighbor> {
+        private final long animalId;
+        private final double distanceKm;
+
+        public Neighbor(long animalId, double distanceKm) {
+            this.animalId = animalId;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getAnimalId() { return animalId; }
+        public double getDistanceKm() { return distanceKm; }
+
+        @Override
+        public int compareTo(Neighbor other) {
+            return Double.compare(distanceKm, other.distanceKm);
+        }
+    }
+}
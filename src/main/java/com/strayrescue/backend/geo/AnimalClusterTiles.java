@@ -0,0 +1,189 @@
+package com.strayrescue.backend.geo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strayrescue.backend.dto.response.ClusterDto;
+import com.strayrescue.backend.model.AnimalStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Map clusters for /api/animals/clusters: active animals aggregated on a
+ * GRID x GRID grid inside each map tile, with counts per status, centroid
+ * and a representative animal per cell.
+ *
+ * Each tile is computed once from ActiveAnimalIndex and cached by (z, x, y).
+ * A change to an animal invalidates the one tile per zoom level containing
+ * it, so panning a map costs a cache lookup per tile, not a pass over the
+ * animals. Cached lists are shared, callers must not modify them.
+ */
+@Component
+public class AnimalClusterTiles implements ActiveAnimalIndex.ChangeListener {
+
+    // 8 x 8 cells per 256 px tile: one cluster per 32 px square
+    private static final int GRID = 8;
+    private static final AnimalStatus[] STATUSES = AnimalStatus.values();
+
+    @Autowired
+    private ActiveAnimalIndex activeAnimalIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.clusters.max-tiles:20000}")
+    private long maxTiles;
+
+    @Value("${app.clusters.max-tiles-per-request:100}")
+    private int maxTilesPerRequest;
+
+    private Cache<Long, List<ClusterDto>> tiles;
+
+    @PostConstruct
+    public void start() {
+        tiles = Caffeine.newBuilder()
+                .maximumSize(maxTiles)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tiles, "animals.clusters");
+        activeAnimalIndex.addChangeListener(this);
+    }
+
+    public boolean isReady() {
+        return activeAnimalIndex.isReady();
+    }
+
+    /**
+     * Clusters of every tile at the zoom level that intersects the box.
+     */
+    public List<ClusterDto> clustersIn(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        if (zoom < 0 || zoom > MapTiles.MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MapTiles.MAX_ZOOM);
+        }
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        int minX = MapTiles.column(minLng, zoom);
+        int maxX = MapTiles.column(maxLng, zoom);
+        int minY = MapTiles.row(maxLat, zoom);
+        int maxY = MapTiles.row(minLat, zoom);
+        long tileCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (tileCount > maxTilesPerRequest) {
+            throw new IllegalArgumentException("bbox covers " + tileCount + " tiles at zoom " + zoom
+                    + ", at most " + maxTilesPerRequest + " are allowed");
+        }
+
+        List<ClusterDto> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                result.addAll(tile(zoom, x, y));
+            }
+        }
+        return result;
+    }
+
+    List<ClusterDto> tile(int zoom, int x, int y) {
+        long key = MapTiles.key(zoom, x, y);
+        List<ClusterDto> clusters = tiles.getIfPresent(key);
+        if (clusters != null) {
+            return clusters;
+        }
+        // Computed and cached under the index read lock: a change made after
+        // the computation waits for the put, then invalidates it
+        return activeAnimalIndex.underReadLock(() -> {
+            List<ClusterDto> computed = compute(zoom, x, y);
+            tiles.put(key, computed);
+            return computed;
+        });
+    }
+
+    @Override
+    public void onChanged(double latitude, double longitude) {
+        for (int zoom = 0; zoom <= MapTiles.MAX_ZOOM; zoom++) {
+            tiles.invalidate(MapTiles.key(zoom, MapTiles.column(longitude, zoom), MapTiles.row(latitude, zoom)));
+        }
+    }
+
+    @Override
+    public void onRebuilt() {
+        tiles.invalidateAll();
+    }
+
+    private List<ClusterDto> compute(int zoom, int x, int y) {
+        Cell[] cells = new Cell[GRID * GRID];
+        activeAnimalIndex.forEachInBox(MapTiles.latitudeOf(y + 1, zoom), MapTiles.latitudeOf(y, zoom),
+                MapTiles.longitudeOf(x, zoom), MapTiles.longitudeOf(x + 1, zoom),
+                (id, lat, lng, tag) -> {
+                    double fx = (MapTiles.tileX(lng, zoom) - x) * GRID;
+                    double fy = (MapTiles.tileY(lat, zoom) - y) * GRID;
+                    // Points on a shared edge belong to the tile east / south of it
+                    if (fx < 0 || fx >= GRID || fy < 0 || fy >= GRID) {
+                        return;
+                    }
+                    int cx = (int) fx;
+                    int cy = (int) fy;
+                    int index = cy * GRID + cx;
+                    Cell cell = cells[index];
+                    if (cell == null) {
+                        cell = new Cell();
+                        cells[index] = cell;
+                    }
+                    double dx = fx - cx - 0.5;
+                    double dy = fy - cy - 0.5;
+                    cell.add(id, lat, lng, tag, dx * dx + dy * dy);
+                });
+
+        List<ClusterDto> clusters = new ArrayList<>();
+        for (Cell cell : cells) {
+            if (cell != null) {
+                clusters.add(cell.toDto());
+            }
+        }
+        return Collections.unmodifiableList(clusters);
+    }
+
+    private static final class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        final int[] statusCounts = new int[STATUSES.length];
+        long representativeId;
+        double representativeDistance = Double.MAX_VALUE;
+
+        void add(long id, double lat, double lng, int status, double distanceToCenter) {
+            count++;
+            sumLat += lat;
+            sumLng += lng;
+            statusCounts[status]++;
+            if (distanceToCenter < representativeDistance) {
+                representativeDistance = distanceToCenter;
+                representativeId = id;
+            }
+        }
+
+        ClusterDto toDto() {
+            Map<AnimalStatus, Integer> byStatus = new EnumMap<>(AnimalStatus.class);
+            for (int i = 0; i < statusCounts.length; i++) {
+                if (statusCounts[i] > 0) {
+                    byStatus.put(STATUSES[i], statusCounts[i]);
+                }
+            }
+            ClusterDto dto = new ClusterDto();
+            dto.setLatitude(sumLat / count);
+            dto.setLongitude(sumLng / count);
+            dto.setCount(count);
+            dto.setCountsByStatus(Collections.unmodifiableMap(byStatus));
+            dto.setRepresentativeId(representativeId);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.strayrescue.backend.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size latitude/longitude grid used to index animal locations.
+ *
+ * Every coordinate maps to a single cell id (0.1 degree cells, roughly 11km
+ * north-south), which is stored on {@code animals.geo_cell} so radius queries
+ * can use an index lookup instead of evaluating the haversine formula on
+ * every row.
+ */
+public final class GeoGrid {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Cell size in degrees
+    public static final double CELL_SIZE_DEG = 0.1;
+
+    private static final long LAT_CELLS = Math.round(180 / CELL_SIZE_DEG);
+    private static final long LNG_CELLS = Math.round(360 / CELL_SIZE_DEG);
+
+    // One degree of a great circle on the sphere distanceKm uses (~111.195 km);
+    // a larger figure would make bounding boxes smaller than their circles
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoGrid() {}
+
+    public static long cellOf(double latitude, double longitude) {
+        return latIndex(latitude) * LNG_CELLS + lngIndex(longitude);
+    }
+
+    /**
+     * Bounding box that fully contains the circle of the given radius.
+     * Longitude bounds widen to the whole globe near the poles or when the
+     * circle crosses the antimeridian.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double minLat = Math.max(-90.0, latitude - latDelta);
+        double maxLat = Math.min(90.0, latitude + latDelta);
+
+        double maxAbsLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cosLat = Math.cos(Math.toRadians(maxAbsLat));
+        if (maxAbsLat >= 90.0 || cosLat <= 1e-9) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+
+        double lngDelta = radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+        double minLng = longitude - lngDelta;
+        double maxLng = longitude + lngDelta;
+        if (minLng < -180.0 || maxLng > 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new BoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    /**
+     * Cell ids covering the bounding box, or {@code null} when the box spans
+     * more than {@code maxCells} cells and a plain range scan is cheaper.
+     */
+    public static List<Long> cellsCovering(BoundingBox box, int maxCells) {
+        long minLatIdx = latIndex(box.getMinLat());
+        long maxLatIdx = latIndex(box.getMaxLat());
+        long minLngIdx = lngIndex(box.getMinLng());
+        long maxLngIdx = lngIndex(box.getMaxLng());
+
+        long count = (maxLatIdx - minLatIdx + 1) * (maxLngIdx - minLngIdx + 1);
+        if (count > maxCells) {
+            return null;
+        }
+
+        List<Long> cells = new ArrayList<>((int) count);
+        for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (long lngIdx = minLngIdx; lngIdx <= maxLngIdx; lngIdx++) {
+                cells.add(latIdx * LNG_CELLS + lngIdx);
+            }
+        }
+        return cells;
+    }
+
+    // Great-circle distance in kilometers
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static long latIndex(double latitude) {
+        long idx = (long) Math.floor((latitude + 90.0) / CELL_SIZE_DEG);
+        return Math.max(0, Math.min(LAT_CELLS - 1, idx));
+    }
+
+    private static long lngIndex(double longitude) {
+        long idx = (long) Math.floor((longitude + 180.0) / CELL_SIZE_DEG);
+        return Math.max(0, Math.min(LNG_CELLS - 1, idx));
+    }
+
+    public static final class BoundingBox {
+        private final double minLat;
+        private final double maxLat;
+        private final double minLng;
+        private final double maxLng;
+
+        public BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLng = minLng;
+            this.maxLng = maxLng;
+        }
+
+        public double getMinLat() { return minLat; }
+        public double getMaxLat() { return maxLat; }
+        public double getMinLng() { return minLng; }
+        public double getMaxLng() { return maxLng; }
+    }
+}
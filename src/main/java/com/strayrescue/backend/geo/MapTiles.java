@@ -0,0 +1,52 @@
+package com.strayrescue.backend.geo;
+
+/**
+ * Web Mercator ("slippy map") tile math, the z/x/y scheme map clients use:
+ * 2^z by 2^z tiles, x growing east from -180, y growing south from ~85.05.
+ */
+public final class MapTiles {
+
+    public static final int MAX_ZOOM = 20;
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private MapTiles() {}
+
+    // Fractional tile x of a longitude; the integer part is the tile column
+    public static double tileX(double longitude, int zoom) {
+        return (longitude + 180.0) / 360.0 * (1L << zoom);
+    }
+
+    // Fractional tile y of a latitude; the integer part is the tile row
+    public static double tileY(double latitude, int zoom) {
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return (1.0 - Math.log(Math.tan(lat) + 1.0 / Math.cos(lat)) / Math.PI) / 2.0 * (1L << zoom);
+    }
+
+    public static int column(double longitude, int zoom) {
+        return clamp((int) Math.floor(tileX(longitude, zoom)), zoom);
+    }
+
+    public static int row(double latitude, int zoom) {
+        return clamp((int) Math.floor(tileY(latitude, zoom)), zoom);
+    }
+
+    // Western edge of column x (x + 1 gives the eastern edge)
+    public static double longitudeOf(int x, int zoom) {
+        return x / (double) (1L << zoom) * 360.0 - 180.0;
+    }
+
+    // Northern edge of row y (y + 1 gives the southern edge)
+    public static double latitudeOf(int y, int zoom) {
+        double n = Math.PI * (1.0 - 2.0 * y / (1L << zoom));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    // One long per tile, for cache keys
+    public static long key(int zoom, int x, int y) {
+        return ((long) zoom << 42) | ((long) x << 21) | y;
+    }
+
+    private static int clamp(int index, int zoom) {
+        return Math.max(0, Math.min((1 << zoom) - 1, index));
+    }
+}
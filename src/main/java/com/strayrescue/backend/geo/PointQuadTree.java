@@ -0,0 +1,167 @@
+package com.strayrescue.backend.geo;
+
+import java.util.Arrays;
+
+/**
+ * Region quadtree over (latitude, longitude) points identified by a long id.
+ * Each point carries a small int tag (ActiveAnimalIndex stores the status
+ * ordinal) so aggregations need no lookup per point.
+ *
+ * Coordinates and ids are kept in primitive arrays per leaf, so lookups do
+ * not allocate per point. Not thread-safe; callers synchronize access.
+ */
+public class PointQuadTree {
+
+    private static final int LEAF_CAPACITY = 32;
+    private static final int MAX_DEPTH = 24;
+
+    private final Node root = new Node(-90.0, 90.0, -180.0, 180.0, 0);
+    private int size;
+
+    public interface PointVisitor {
+        void visit(long id, double latitude, double longitude);
+    }
+
+    public interface TaggedPointVisitor {
+        void visit(long id, double latitude, double longitude, int tag);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long id, double latitude, double longitude) {
+        insert(id, latitude, longitude, 0);
+    }
+
+    public void insert(long id, double latitude, double longitude, int tag) {
+        Node node = root;
+        while (node.children != null) {
+            node = node.childFor(latitude, longitude);
+        }
+        node.add(id, latitude, longitude, tag);
+        size++;
+        if (node.count > LEAF_CAPACITY && node.depth < MAX_DEPTH) {
+            node.split();
+        }
+    }
+
+    // The coordinates must be the ones the point was inserted with
+    public boolean remove(long id, double latitude, double longitude) {
+        Node node = root;
+        while (node.children != null) {
+            node = node.childFor(latitude, longitude);
+        }
+        if (node.remove(id)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    public void forEachInBox(double minLat, double maxLat, double minLng, double maxLng, PointVisitor visitor) {
+        visit(root, minLat, maxLat, minLng, maxLng, (id, lat, lng, tag) -> visitor.visit(id, lat, lng));
+    }
+
+    public void forEachInBox(double minLat, double maxLat, double minLng, double maxLng, TaggedPointVisitor visitor) {
+        visit(root, minLat, maxLat, minLng, maxLng, visitor);
+    }
+
+    private void visit(Node node, double minLat, double maxLat, double minLng, double maxLng, TaggedPointVisitor visitor) {
+        if (node.maxLat < minLat || node.minLat > maxLat || node.maxLng < minLng || node.minLng > maxLng) {
+            return;
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                visit(child, minLat, maxLat, minLng, maxLng, visitor);
+            }
+            return;
+        }
+        for (int i = 0; i < node.count; i++) {
+            double lat = node.lats[i];
+            double lng = node.lngs[i];
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                visitor.visit(node.ids[i], lat, lng, node.tags[i]);
+            }
+        }
+    }
+
+    private static final class Node {
+        final double minLat;
+        final double maxLat;
+        final double minLng;
+        final double maxLng;
+        final double midLat;
+        final double midLng;
+        final int depth;
+
+        Node[] children;
+        long[] ids = new long[4];
+        double[] lats = new double[4];
+        double[] lngs = new double[4];
+        int[] tags = new int[4];
+        int count;
+
+        Node(double minLat, double maxLat, double minLng, double maxLng, int depth) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLng = minLng;
+            this.maxLng = maxLng;
+            this.midLat = (minLat + maxLat) / 2;
+            this.midLng = (minLng + maxLng) / 2;
+            this.depth = depth;
+        }
+
+        Node childFor(double latitude, double longitude) {
+            int index = (latitude >= midLat ? 2 : 0) + (longitude >= midLng ? 1 : 0);
+            return children[index];
+        }
+
+        void add(long id, double latitude, double longitude, int tag) {
+            if (count == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+            }
+            ids[count] = id;
+            lats[count] = latitude;
+            lngs[count] = longitude;
+            tags[count] = tag;
+            count++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < count; i++) {
+                if (ids[i] == id) {
+                    int last = count - 1;
+                    ids[i] = ids[last];
+                    lats[i] = lats[last];
+                    lngs[i] = lngs[last];
+                    tags[i] = tags[last];
+                    count = last;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void split() {
+            children = new Node[] {
+                new Node(minLat, midLat, minLng, midLng, depth + 1),
+                new Node(minLat, midLat, midLng, maxLng, depth + 1),
+                new Node(midLat, maxLat, minLng, midLng, depth + 1),
+                new Node(midLat, maxLat, midLng, maxLng, depth + 1)
+            };
+            for (int i = 0; i < count; i++) {
+                childFor(lats[i], lngs[i]).add(ids[i], lats[i], lngs[i], tags[i]);
+            }
+            ids = null;
+            lats = null;
+            lngs = null;
+            tags = null;
+            count = 0;
+        }
+    }
+}
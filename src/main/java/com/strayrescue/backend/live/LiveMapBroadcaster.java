@@ -0,0 +1,330 @@
+package com.strayrescue.backend.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strayrescue.backend.dto.response.LiveMapEventDto;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.model.AnimalStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes animal creates, status changes and deletes to live map streams
+ * (Server-Sent Events) whose box and status filter match.
+ *
+ * Matching goes through SubscriptionGrid. Each event is rendered once and
+ * offered to the bounded buffer of every matching stream, so the thread
+ * that committed the change never waits on a client. A small sender pool
+ * drains the buffers, one task per stream at a time. A stream whose buffer
+ * is full is too slow and is closed; the client reconnects and reloads.
+ *
+ * A write to a client that stopped reading blocks until the container's
+ * write timeout. A write older than send-timeout-ms closes its stream, and
+ * the pool gets a thread back for the one it holds until the write ends.
+ * A stream is completed by the task that drains it, or by a new task when
+ * none does, so completing never waits behind a blocked write.
+ */
+@Component
+public class LiveMapBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveMapBroadcaster.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.live.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.live.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.live.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.live.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.live.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private final SubscriptionGrid grid = new SubscriptionGrid();
+    private final Set<MapSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // Slots taken, reserved before a stream is registered and released when it is removed
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    // Streams with a write in progress, and how many of those writes outlived send-timeout-ms
+    private final Set<MapSubscription> sending = ConcurrentHashMap.newKeySet();
+    private int stuckSenders; // Only changed in resizeSender
+
+    private ThreadPoolExecutor sender;
+    private Counter evictions;
+
+    @PostConstruct
+    public void start() {
+        // One queued task per stream at most, so the queue is bounded by max-subscribers
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), senderThreadFactory(environment));
+
+        Gauge.builder("live.subscribers", subscriptions, Set::size)
+                .description("Open live map streams")
+                .register(meterRegistry);
+        evictions = Counter.builder("live.evictions")
+                .description("Live map streams closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Opens a stream of changes inside the box. An empty status set means
+     * every status.
+     */
+    public SseEmitter subscribe(double minLat, double maxLat, double minLng, double maxLng, Set<AnimalStatus> statuses) {
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        return register(new SseEmitter(timeoutMs), minLat, maxLat, minLng, maxLng, statuses).emitter;
+    }
+
+    MapSubscription register(SseEmitter emitter, double minLat, double maxLat, double minLng, double maxLng,
+                             Set<AnimalStatus> statuses) {
+        MapSubscription subscription = new MapSubscription(emitter, minLat, maxLat, minLng, maxLng, statuses, bufferSize);
+        // Check and take the slot in one step, concurrent subscribers cannot overshoot
+        if (open.incrementAndGet() > maxSubscribers) {
+            open.decrementAndGet();
+            throw new LiveMapFullException("Too many live map streams, please retry shortly");
+        }
+        // Registered before the callbacks are wired, so a stream that ends as
+        // soon as they are is removed rather than left in the grid
+        subscriptions.add(subscription);
+        grid.add(subscription);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+        return subscription;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        if (event.getType() == AnimalChangedEvent.Type.UPDATED || !event.hasLocation()) {
+            return;
+        }
+        Set<DataWithMediaType> rendered = render(event);
+        grid.forEachCovering(event.getLatitude(), event.getLongitude(), subscription -> {
+            if (subscription.wants(event.getStatus(), event.getPreviousStatus())) {
+                offer(subscription, rendered);
+            }
+        });
+    }
+
+    // Keeps idle connections open through proxies and finds dead ones
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (MapSubscription subscription : subscriptions) {
+            offer(subscription, HEARTBEAT);
+        }
+    }
+
+    // Closes streams whose write has blocked too long and gives the pool a
+    // thread for each, so healthy streams keep being served
+    @Scheduled(fixedDelayString = "${app.live.send-check-ms:1000}")
+    public void closeStuckStreams() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (MapSubscription subscription : sending) {
+            if (subscription.sendStartedNanos - deadline < 0 && subscription.stuck.compareAndSet(false, true)) {
+                resizeSender(1);
+                // The write may have ended meanwhile, without seeing the flag
+                if (!sending.contains(subscription) && subscription.stuck.compareAndSet(true, false)) {
+                    resizeSender(-1);
+                }
+                evict(subscription);
+            }
+        }
+    }
+
+    int senderPoolSize() {
+        return sender.getCorePoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (MapSubscription subscription : subscriptions) {
+            remove(subscription);
+        }
+        sender.shutdownNow();
+    }
+
+    private void offer(MapSubscription subscription, Set<DataWithMediaType> item) {
+        if (!subscription.buffer.offer(item)) {
+            evict(subscription);
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.draining.set(false); // Shutting down
+            }
+        }
+    }
+
+    private void drain(MapSubscription subscription) {
+        while (true) {
+            Set<DataWithMediaType> item;
+            while (!subscription.closed.get() && (item = subscription.buffer.poll()) != null) {
+                if (!send(subscription, item)) {
+                    return;
+                }
+            }
+            if (subscription.closed.get()) {
+                complete(subscription);
+                return;
+            }
+            subscription.draining.set(false);
+            // An offer or an eviction may have landed after the checks above but
+            // before the flag was cleared
+            if ((subscription.buffer.isEmpty() && !subscription.closed.get())
+                    || !subscription.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(MapSubscription subscription, Set<DataWithMediaType> item) {
+        subscription.sendStartedNanos = System.nanoTime();
+        sending.add(subscription);
+        try {
+            subscription.emitter.send(item);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter reports the error itself
+            remove(subscription);
+            return false;
+        } finally {
+            sending.remove(subscription);
+            if (subscription.stuck.compareAndSet(true, false)) {
+                resizeSender(-1);
+            }
+        }
+    }
+
+    private void evict(MapSubscription subscription) {
+        if (remove(subscription)) {
+            evictions.increment();
+            logger.debug("Closing live map stream that fell behind");
+            // A running drain completes it once its write returns
+            if (subscription.draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(() -> complete(subscription));
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                }
+            }
+        }
+    }
+
+    private static void complete(MapSubscription subscription) {
+        try {
+            subscription.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already ended by the client
+        }
+    }
+
+    // The count changes under the lock so concurrent resizes apply in order
+    private synchronized void resizeSender(int delta) {
+        stuckSenders += delta;
+        int size = senderThreads + stuckSenders;
+        // The core size may never exceed the maximum, so the order depends on the direction
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private boolean remove(MapSubscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        grid.remove(subscription);
+        subscriptions.remove(subscription);
+        subscription.buffer.clear();
+        open.decrementAndGet();
+        return true;
+    }
+
+    private Set<DataWithMediaType> render(AnimalChangedEvent event) {
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+        LiveMapEventDto dto = new LiveMapEventDto();
+        dto.setType(type);
+        dto.setAnimalId(event.getAnimalId());
+        dto.setSpecies(event.getSpecies());
+        dto.setStatus(event.getStatus());
+        dto.setPreviousStatus(event.getPreviousStatus());
+        dto.setLatitude(event.getLatitude());
+        dto.setLongitude(event.getLongitude());
+        try {
+            // Serialized once, the same bytes go to every matching stream
+            return SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(type)
+                    .data(objectMapper.writeValueAsString(dto), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize live map event", e);
+        }
+    }
+
+    private static ThreadFactory senderThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("live-map-sender-").getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "live-map-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.strayrescue.backend.live;
+
+/**
+ * Thrown when this node already holds the maximum number of live map streams.
+ */
+public class LiveMapFullException extends RuntimeException {
+
+    public LiveMapFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,62 @@
+package com.strayrescue.backend.live;
+
+import com.strayrescue.backend.model.AnimalStatus;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One live map stream: the box and statuses the client watches, plus the
+ * events waiting to be written to it.
+ */
+final class MapSubscription {
+
+    final SseEmitter emitter;
+    final double minLat;
+    final double maxLat;
+    final double minLng;
+    final double maxLng;
+    private final Set<AnimalStatus> statuses; // Empty means every status
+
+    // Rendered events not yet sent; full means the client is not keeping up
+    final ArrayBlockingQueue<Set<DataWithMediaType>> buffer;
+
+    // Set while a sender task owns the emitter
+    final AtomicBoolean draining = new AtomicBoolean();
+    final AtomicBoolean closed = new AtomicBoolean();
+
+    // When the write in progress started, and whether it has been given up on
+    volatile long sendStartedNanos;
+    final AtomicBoolean stuck = new AtomicBoolean();
+
+    // Grid cells this subscription is registered in, null when unbounded
+    List<Long> cellKeys;
+
+    MapSubscription(SseEmitter emitter, double minLat, double maxLat, double minLng, double maxLng,
+                    Set<AnimalStatus> statuses, int bufferSize) {
+        this.emitter = emitter;
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.minLng = minLng;
+        this.maxLng = maxLng;
+        this.statuses = statuses.isEmpty() ? EnumSet.noneOf(AnimalStatus.class) : EnumSet.copyOf(statuses);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    boolean covers(double latitude, double longitude) {
+        return latitude >= minLat && latitude <= maxLat && longitude >= minLng && longitude <= maxLng;
+    }
+
+    // A status change is sent when either side matches, so the client can
+    // add the animal or drop it from its map
+    boolean wants(AnimalStatus status, AnimalStatus previousStatus) {
+        return statuses.isEmpty()
+                || (status != null && statuses.contains(status))
+                || (previousStatus != null && statuses.contains(previousStatus));
+    }
+}
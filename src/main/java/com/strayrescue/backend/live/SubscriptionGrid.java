@@ -0,0 +1,115 @@
+package com.strayrescue.backend.live;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index of live map subscriptions, so an event is matched against
+ * the subscriptions whose box may contain it rather than all of them.
+ *
+ * A subscription is registered in the cells of the finest grid level on
+ * which its box spans at most MAX_CELLS cells: street-level boxes in 0.1
+ * degree cells, city and region boxes in 1 or 10 degree cells. Boxes larger
+ * than that (the whole country or world) are kept in a separate set that
+ * every event checks. A lookup probes one cell per level.
+ */
+final class SubscriptionGrid {
+
+    private static final double[] CELL_SIZES_DEG = {0.1, 1.0, 10.0};
+    private static final int MAX_CELLS = 64;
+
+    private final Map<Long, Set<MapSubscription>> cells = new ConcurrentHashMap<>();
+    private final Set<MapSubscription> unbounded = ConcurrentHashMap.newKeySet();
+
+    void add(MapSubscription subscription) {
+        List<Long> keys = cellsCovering(subscription);
+        subscription.cellKeys = keys;
+        if (keys == null) {
+            unbounded.add(subscription);
+            return;
+        }
+        for (Long key : keys) {
+            // Added inside compute so a concurrent remove cannot drop the set in between
+            cells.compute(key, (k, set) -> {
+                Set<MapSubscription> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(subscription);
+                return target;
+            });
+        }
+    }
+
+    void remove(MapSubscription subscription) {
+        List<Long> keys = subscription.cellKeys;
+        if (keys == null) {
+            unbounded.remove(subscription);
+            return;
+        }
+        for (Long key : keys) {
+            cells.computeIfPresent(key, (k, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Every subscription whose box contains the point, each once.
+     */
+    void forEachCovering(double latitude, double longitude, Consumer<MapSubscription> action) {
+        for (int level = 0; level < CELL_SIZES_DEG.length; level++) {
+            Set<MapSubscription> set = cells.get(key(level, latIndex(latitude, level), lngIndex(longitude, level)));
+            if (set != null) {
+                forEachCovering(set, latitude, longitude, action);
+            }
+        }
+        forEachCovering(unbounded, latitude, longitude, action);
+    }
+
+    private static void forEachCovering(Set<MapSubscription> set, double latitude, double longitude,
+                                        Consumer<MapSubscription> action) {
+        for (MapSubscription subscription : set) {
+            if (subscription.covers(latitude, longitude)) {
+                action.accept(subscription);
+            }
+        }
+    }
+
+    private static List<Long> cellsCovering(MapSubscription subscription) {
+        for (int level = 0; level < CELL_SIZES_DEG.length; level++) {
+            int minLatIdx = latIndex(subscription.minLat, level);
+            int maxLatIdx = latIndex(subscription.maxLat, level);
+            int minLngIdx = lngIndex(subscription.minLng, level);
+            int maxLngIdx = lngIndex(subscription.maxLng, level);
+            long count = (long) (maxLatIdx - minLatIdx + 1) * (maxLngIdx - minLngIdx + 1);
+            if (count > MAX_CELLS) {
+                continue;
+            }
+            List<Long> keys = new ArrayList<>((int) count);
+            for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                for (int lngIdx = minLngIdx; lngIdx <= maxLngIdx; lngIdx++) {
+                    keys.add(key(level, latIdx, lngIdx));
+                }
+            }
+            return keys;
+        }
+        return null;
+    }
+
+    private static long key(int level, int latIdx, int lngIdx) {
+        return ((long) level << 42) | ((long) latIdx << 21) | lngIdx;
+    }
+
+    private static int latIndex(double latitude, int level) {
+        int cells = (int) Math.ceil(180.0 / CELL_SIZES_DEG[level]);
+        return Math.max(0, Math.min(cells - 1, (int) Math.floor((latitude + 90.0) / CELL_SIZES_DEG[level])));
+    }
+
+    private static int lngIndex(double longitude, int level) {
+        int cells = (int) Math.ceil(360.0 / CELL_SIZES_DEG[level]);
+        return Math.max(0, Math.min(cells - 1, (int) Math.floor((longitude + 180.0) / CELL_SIZES_DEG[level])));
+    }
+}
@@ -1,7 +1,13 @@
 package com.strayrescue.backend.mapper;
 
 import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalSummaryDto;
 import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.ImageVariant;
+import com.strayrescue.backend.tracing.Stage;
+import com.strayrescue.backend.tracing.Tracing;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -21,7 +27,16 @@ public class AnimalMapper {
         if (animal == null) {
             return null;
         }
-        
+
+        Tracing.begin(Stage.MAPPING);
+        try {
+            return mapDto(animal);
+        } finally {
+            Tracing.end(Stage.MAPPING);
+        }
+    }
+
+    private AnimalDto mapDto(Animal animal) {
         AnimalDto dto = new AnimalDto();
         dto.setId(animal.getId());
         dto.setName(animal.getName());
@@ -45,17 +60,48 @@ public class AnimalMapper {
             dto.setCurrentCaretaker(userMapper.toSummaryDto(animal.getCurrentCaretaker()));
         }
         
-        // Map images safely
+        // Map images safely; only READY images have stored variants to link to
         if (animal.getImages() != null && !animal.getImages().isEmpty()) {
-            dto.setImages(animalImageMapper.toDtoList(animal.getImages().stream().collect(Collectors.toList())));
+            List<AnimalImage> ready = animal.getImages().stream()
+                .filter(img -> img.getStatus() == ImageStatus.READY)
+                .collect(Collectors.toList());
+            dto.setImages(animalImageMapper.toDtoList(ready));
             
-            // Set primary image URL
-            animal.getImages().stream()
+            // Set primary image URL (detail-sized)
+            ready.stream()
                 .filter(img -> Boolean.TRUE.equals(img.getIsPrimary()))
                 .findFirst()
-                .ifPresent(img -> dto.setPrimaryImageUrl(img.getS3Url()));
+                .ifPresent(img -> dto.setPrimaryImageUrl(img.getUrlFor(ImageVariant.MEDIUM)));
+        }
+        
+        return dto;
+    }
+    
+    // List projection; primaryImageUrl is resolved by the caller in one batch
+    public AnimalSummaryDto toSummaryDto(Animal animal, String primaryImageUrl) {
+        if (animal == null) {
+            return null;
         }
         
+        Tracing.begin(Stage.MAPPING);
+        try {
+            return mapSummaryDto(animal, primaryImageUrl);
+        } finally {
+            Tracing.end(Stage.MAPPING);
+        }
+    }
+
+    private AnimalSummaryDto mapSummaryDto(Animal animal, String primaryImageUrl) {
+        AnimalSummaryDto dto = new AnimalSummaryDto();
+        dto.setId(animal.getId());
+        dto.setName(animal.getName());
+        dto.setSpecies(animal.getSpecies());
+        dto.setStatus(animal.getStatus() != null ? animal.getStatus().name() : null);
+        dto.setLatitude(animal.getLatitude());
+        dto.setLongitude(animal.getLongitude());
+        dto.setLocationDescription(animal.getLocationDescription());
+        dto.setCreatedAt(animal.getCreatedAt());
+        dto.setPrimaryImageUrl(primaryImageUrl);
         return dto;
     }
     
@@ -64,8 +110,13 @@ public class AnimalMapper {
             return null;
         }
         
-        return animals.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        Tracing.begin(Stage.MAPPING);
+        try {
+            return animals.stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        } finally {
+            Tracing.end(Stage.MAPPING);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.strayrescue.backend.mapper;
+
+import com.strayrescue.backend.dto.response.SightingDto;
+import com.strayrescue.backend.model.Sighting;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface SightingMapper {
+    
+    @Mapping(source = "animal.id", target = "animalId")
+    @Mapping(source = "reportedBy.username", target = "reportedByUsername")
+    SightingDto toDto(Sighting sighting);
+    
+    List<SightingDto> toDtoList(List<Sighting> sightings);
+}
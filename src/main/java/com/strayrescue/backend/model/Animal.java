@@ -10,11 +10,32 @@ import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.strayrescue.backend.geo.GeoGrid;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
-@Table(name = "animals")
+@NamedEntityGraph(
+    name = Animal.DETAILS_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode(value = "images", subgraph = "images"),
+        @NamedAttributeNode("reportedBy"),
+        @NamedAttributeNode("currentCaretaker")
+    },
+    subgraphs = @NamedSubgraph(name = "images", attributeNodes = @NamedAttributeNode("uploadedBy"))
+)
+@Table(name = "animals", indexes = {
+    @Index(name = "idx_animals_geo_cell", columnList = "geo_cell"),
+    @Index(name = "idx_animals_lat_lng", columnList = "latitude, longitude"),
+    @Index(name = "idx_animals_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_animals_status_created_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_animals_species_created_id", columnList = "species, created_at, id"),
+    @Index(name = "idx_animals_duplicate_lookup", columnList = "species, geo_cell, latitude, longitude, last_seen_at")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Animal {
+
+    // Everything AnimalMapper.toDto reads, fetched in one query
+    public static final String DETAILS_GRAPH = "Animal.details";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -55,6 +76,10 @@ public class Animal {
     
     @Column(name = "longitude", precision = 11, scale = 8)
     private BigDecimal longitude;
+
+    // Grid cell of (latitude, longitude), see GeoGrid. Maintained on every write.
+    @Column(name = "geo_cell")
+    private Long geoCell;
     
     // Health information
     @Column(name = "health_status")
@@ -89,8 +114,14 @@ public class Animal {
     private User currentCaretaker;
     
     @OneToMany(mappedBy = "animal", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonManagedReference("animal-images")
     private Set<AnimalImage> images;
+
+    // Id of the image with is_primary set, kept in step by ImageUploadService
+    // so list views read one image by key instead of scanning animal_images
+    @Column(name = "primary_image_id")
+    private Long primaryImageId;
     
     // Timestamps
     @Column(name = "date_found")
@@ -105,6 +136,7 @@ public class Animal {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Report time, moved forward by every sighting
     @Column(name = "last_seen_at")
     private LocalDateTime lastSeenAt;
     
@@ -155,6 +187,12 @@ public class Animal {
     public BigDecimal getLongitude() { return longitude; }
     public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
     
+    public Long getPrimaryImageId() { return primaryImageId; }
+    public void setPrimaryImageId(Long primaryImageId) { this.primaryImageId = primaryImageId; }
+
+    public Long getGeoCell() { return geoCell; }
+    public void setGeoCell(Long geoCell) { this.geoCell = geoCell; }
+    
     public String getHealthStatus() { return healthStatus; }
     public void setHealthStatus(String healthStatus) { this.healthStatus = healthStatus; }
     
@@ -197,8 +235,22 @@ public class Animal {
     public LocalDateTime getLastSeenAt() { return lastSeenAt; }
     public void setLastSeenAt(LocalDateTime lastSeenAt) { this.lastSeenAt = lastSeenAt; }
     
+    @PrePersist
+    public void prePersist() {
+        updateGeoCell();
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        updateGeoCell();
+    }
+
+    private void updateGeoCell() {
+        if (latitude != null && longitude != null) {
+            this.geoCell = GeoGrid.cellOf(latitude.doubleValue(), longitude.doubleValue());
+        } else {
+            this.geoCell = null;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.strayrescue.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Rollup: animals reported on a day, by species and current status.
+// Maintained by AnimalStatsService in the same transaction as the animal write.
+@Entity
+@Table(name = "animal_daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_animal_daily_stats_key", columnNames = {"report_day", "species", "status"})
+})
+public class AnimalDailyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "species", nullable = false, length = 100)
+    private String species;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AnimalStatus status;
+
+    @Column(name = "animal_count", nullable = false)
+    private long count;
+
+    // Constructors
+    public AnimalDailyStat() {}
+
+    public AnimalDailyStat(LocalDate day, String species, AnimalStatus status, long count) {
+        this.day = day;
+        this.species = species;
+        this.status = status;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public String getSpecies() { return species; }
+    public void setSpecies(String species) { this.species = species; }
+
+    public AnimalStatus getStatus() { return status; }
+    public void setStatus(AnimalStatus status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -9,7 +9,10 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "animal_images")
+@Table(name = "animal_images", indexes = {
+    @Index(name = "idx_animal_images_content_hash", columnList = "content_hash"),
+    @Index(name = "idx_animal_images_s3_key", columnList = "s3_key")
+})
 public class AnimalImage {
     
     @Id
@@ -26,11 +29,28 @@ public class AnimalImage {
     
     @NotBlank
     @Column(name = "s3_url")
-    private String s3Url; // Full URL to access the image
+    private String s3Url; // Full URL to access the image (LARGE variant)
+    
+    // Smaller variants, null for images uploaded before variants existed
+    @Column(name = "thumbnail_s3_key")
+    private String thumbnailS3Key;
+    
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+    
+    @Column(name = "medium_s3_key")
+    private String mediumS3Key;
+    
+    @Column(name = "medium_url")
+    private String mediumUrl;
     
     @Column(name = "file_size")
     private Long fileSize; // Size in bytes
     
+    // SHA-256 of the uploaded bytes, hex; rows with the same content may share stored objects
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @Column(name = "content_type")
     private String contentType; // "image/jpeg", "image/png", etc.
     
@@ -43,6 +63,14 @@ public class AnimalImage {
     @Column(name = "display_order")
     private Integer displayOrder = 0; // Order to show photos
     
+    // Processing state; uploads are resized and stored in the background
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImageStatus status = ImageStatus.READY;
+    
+    @Column(name = "failure_reason")
+    private String failureReason;
+    
     // Relationship to Animal
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id", nullable = false)
@@ -90,6 +118,32 @@ public class AnimalImage {
     public String getS3Url() { return s3Url; }
     public void setS3Url(String s3Url) { this.s3Url = s3Url; }
     
+    public String getThumbnailS3Key() { return thumbnailS3Key; }
+    public void setThumbnailS3Key(String thumbnailS3Key) { this.thumbnailS3Key = thumbnailS3Key; }
+    
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    
+    public String getMediumS3Key() { return mediumS3Key; }
+    public void setMediumS3Key(String mediumS3Key) { this.mediumS3Key = mediumS3Key; }
+    
+    public String getMediumUrl() { return mediumUrl; }
+    public void setMediumUrl(String mediumUrl) { this.mediumUrl = mediumUrl; }
+    
+    // URL of the requested size, falling back to the full image for older uploads
+    public String getUrlFor(ImageVariant variant) {
+        String url = null;
+        if (variant == ImageVariant.THUMBNAIL) {
+            url = thumbnailUrl;
+        } else if (variant == ImageVariant.MEDIUM) {
+            url = mediumUrl;
+        }
+        return url != null ? url : s3Url;
+    }
+    
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
     public Long getFileSize() { return fileSize; }
     public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
     
@@ -105,6 +159,12 @@ public class AnimalImage {
     public Integer getDisplayOrder() { return displayOrder; }
     public void setDisplayOrder(Integer displayOrder) { this.displayOrder = displayOrder; }
     
+    public ImageStatus getStatus() { return status; }
+    public void setStatus(ImageStatus status) { this.status = status; }
+    
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+    
     public Animal getAnimal() { return animal; }
     public void setAnimal(Animal animal) { this.animal = animal; }
     
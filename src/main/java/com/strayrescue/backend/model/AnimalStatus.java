@@ -8,5 +8,10 @@ public enum AnimalStatus {
     READY_ADOPTION, // Healthy and ready for adoption
     ADOPTED,        // Successfully adopted
     DECEASED,       // Sadly passed away
-    LOST            // Lost/can't be found anymore
+    LOST;           // Lost/can't be found anymore
+
+    // Terminal statuses are no longer shown on the map
+    public boolean isTerminal() {
+        return this == ADOPTED || this == DECEASED;
+    }
 }
\ No newline at end of file
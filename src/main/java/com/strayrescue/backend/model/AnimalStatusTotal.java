@@ -0,0 +1,48 @@
+package com.strayrescue.backend.model;
+
+import jakarta.persistence.*;
+
+// Rollup: all current animals by species and status (a few dozen rows at most),
+// so overall counts never scan animals or the daily rollup.
+@Entity
+@Table(name = "animal_status_totals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_animal_status_totals_key", columnNames = {"species", "status"})
+})
+public class AnimalStatusTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "species", nullable = false, length = 100)
+    private String species;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AnimalStatus status;
+
+    @Column(name = "animal_count", nullable = false)
+    private long count;
+
+    // Constructors
+    public AnimalStatusTotal() {}
+
+    public AnimalStatusTotal(String species, AnimalStatus status, long count) {
+        this.species = species;
+        this.status = status;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSpecies() { return species; }
+    public void setSpecies(String species) { this.species = species; }
+
+    public AnimalStatus getStatus() { return status; }
+    public void setStatus(AnimalStatus status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,8 @@
+package com.strayrescue.backend.model;
+
+public enum ImageStatus {
+    PENDING,     // Accepted, waiting for a worker
+    PROCESSING,  // Being resized and uploaded
+    READY,       // Available at s3Url
+    FAILED       // Gave up, see failureReason
+}
@@ -0,0 +1,22 @@
+package com.strayrescue.backend.model;
+
+public enum ImageVariant {
+    THUMBNAIL(200, "-thumb"),  // List and map markers
+    MEDIUM(600, "-medium"),    // Animal details
+    LARGE(1200, "");           // Full-screen gallery; stored under the base key
+
+    private final int maxSize;
+    private final String keySuffix;
+
+    ImageVariant(int maxSize, String keySuffix) {
+        this.maxSize = maxSize;
+        this.keySuffix = keySuffix;
+    }
+
+    public int getMaxSize() { return maxSize; }
+
+    // S3 key of this variant for an image stored as {baseKey}.jpg
+    public String keyFor(String baseKey) {
+        return baseKey + keySuffix + ".jpg";
+    }
+}
@@ -0,0 +1,42 @@
+package com.strayrescue.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Rollup: reporting activity per user, keyed by user id
+@Entity
+@Table(name = "reporter_stats", indexes = {
+    @Index(name = "idx_reporter_stats_count", columnList = "reported_count, user_id")
+})
+public class ReporterStat {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Animals reported by the user that still exist
+    @Column(name = "reported_count", nullable = false)
+    private long reportedCount;
+
+    @Column(name = "last_reported_at")
+    private LocalDateTime lastReportedAt;
+
+    // Constructors
+    public ReporterStat() {}
+
+    public ReporterStat(Long userId, long reportedCount, LocalDateTime lastReportedAt) {
+        this.userId = userId;
+        this.reportedCount = reportedCount;
+        this.lastReportedAt = lastReportedAt;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public long getReportedCount() { return reportedCount; }
+    public void setReportedCount(long reportedCount) { this.reportedCount = reportedCount; }
+
+    public LocalDateTime getLastReportedAt() { return lastReportedAt; }
+    public void setLastReportedAt(LocalDateTime lastReportedAt) { this.lastReportedAt = lastReportedAt; }
+}
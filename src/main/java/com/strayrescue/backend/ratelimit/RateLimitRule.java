@@ -0,0 +1,39 @@
+package com.strayrescue.backend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Limit for one route group: each client may make `burst` requests at once
+ * and `permitsPerSecond` sustained after that.
+ */
+public class RateLimitRule {
+
+    private final String group;
+    private final RequestMatcher matcher;
+    private final int burst;
+    // GCRA parameters: the time one request "costs" and how far ahead of now
+    // a client's schedule may run before it is throttled
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    public RateLimitRule(String group, double permitsPerSecond, int burst, RequestMatcher matcher) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit for " + group + " needs a positive rate and burst");
+        }
+        this.group = group;
+        this.matcher = matcher;
+        this.burst = burst;
+        this.emissionIntervalNanos = Math.max(1, Math.round(1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+
+    public String getGroup() { return group; }
+    public int getBurst() { return burst; }
+    public long getEmissionIntervalNanos() { return emissionIntervalNanos; }
+    public long getToleranceNanos() { return toleranceNanos; }
+}
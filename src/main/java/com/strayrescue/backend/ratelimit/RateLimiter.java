@@ -0,0 +1,87 @@
+package com.strayrescue.backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token-bucket limiter (GCRA form) over a set of route groups.
+ *
+ * Each client's bucket is one AtomicLong holding its theoretical arrival
+ * time; admitting a request is a single compare-and-set, so clients never
+ * contend on a lock and one client's burst does not slow another's. Buckets
+ * live in a size-bounded cache: an idle bucket refills completely within the
+ * slowest group's refill time, so expiring it after that loses nothing, and
+ * max-clients caps memory under an address-spoofing flood.
+ */
+public class RateLimiter {
+
+    private final List<RateLimitRule> rules;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(List<RateLimitRule> rules, long maxClients, MeterRegistry meterRegistry) {
+        this(rules, maxClients, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(List<RateLimitRule> rules, long maxClients, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.rules = List.copyOf(rules);
+        this.clock = clock;
+        long refillNanos = rules.stream().mapToLong(RateLimitRule::getToleranceNanos).max().orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(refillNanos + 1))
+                .ticker(clock::getAsLong)
+                .build();
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Clients with a rate limit bucket in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The first group whose paths match the request, or null if it is not limited.
+     */
+    public RateLimitRule match(HttpServletRequest request) {
+        for (RateLimitRule rule : rules) {
+            if (rule.matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take one request from the client's bucket for this group.
+     *
+     * @return 0 if admitted, otherwise nanoseconds until a retry would be admitted
+     */
+    public long tryAcquire(RateLimitRule rule, String clientKey) {
+        AtomicLong bucket = buckets.get(rule.getGroup() + '|' + clientKey, key -> new AtomicLong(Long.MIN_VALUE));
+        long interval = rule.getEmissionIntervalNanos();
+        long tolerance = rule.getToleranceNanos();
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = bucket.get();
+            long next = (arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival) + interval;
+            if (next - now > tolerance) {
+                return next - now - tolerance;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Exposed for tests
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
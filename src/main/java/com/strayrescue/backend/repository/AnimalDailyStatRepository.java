@@ -0,0 +1,54 @@
+package com.strayrescue.backend.repository;
+
+import com.strayrescue.backend.model.AnimalDailyStat;
+import com.strayrescue.backend.model.AnimalStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnimalDailyStatRepository extends JpaRepository<AnimalDailyStat, Long> {
+
+    // Atomic upsert; concurrent writers of the same key serialize on the row, not on a read-then-write
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO animal_daily_stats (report_day, species, status, animal_count) " +
+                   "VALUES (:day, :species, :status, :delta) " +
+                   "ON DUPLICATE KEY UPDATE animal_count = animal_count + :delta",
+           nativeQuery = true)
+    void increment(@Param("day") LocalDate day,
+                   @Param("species") String species,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    @Query("SELECT s FROM AnimalDailyStat s WHERE s.day >= :from AND s.day <= :to AND s.count <> 0 " +
+           "ORDER BY s.day, s.species, s.status")
+    List<AnimalDailyStat> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(s.day) FROM AnimalDailyStat s")
+    LocalDate findEarliestDay();
+
+    @Query("SELECT MAX(s.day) FROM AnimalDailyStat s")
+    LocalDate findLatestDay();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AnimalDailyStat s WHERE s.day >= :from AND s.day < :to")
+    int deleteBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface SpeciesStatusCount {
+        String getSpecies();
+        AnimalStatus getStatus();
+        long getCount();
+    }
+
+    @Query("SELECT s.species AS species, s.status AS status, SUM(s.count) AS count " +
+           "FROM AnimalDailyStat s GROUP BY s.species, s.status")
+    List<SpeciesStatusCount> sumBySpeciesAndStatus();
+}
@@ -1,10 +1,20 @@
 package com.strayrescue.backend.repository;
 
 import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,14 +24,58 @@ public interface AnimalImageRepository extends JpaRepository<AnimalImage, Long>
     List<AnimalImage> findByAnimalIdOrderByDisplayOrder(Long animalId);
     List<AnimalImage> findByAnimalId(Long animalId);
     
-    // Find all images for a specific animal
+    // Find all images for a specific animal (uploader loaded for the DTO)
+    @EntityGraph(attributePaths = "uploadedBy")
     List<AnimalImage> findByAnimalIdOrderByDisplayOrderAsc(Long animalId);
     
     // Find primary image for an animal
     Optional<AnimalImage> findByAnimalIdAndIsPrimaryTrue(Long animalId);
     
-    // Find images by S3 key
-    Optional<AnimalImage> findByS3Key(String s3Key);
+    // Primary images for a batch of animals (list views)
+    List<AnimalImage> findByAnimalIdInAndIsPrimaryTrue(Collection<Long> animalIds);
+    
+    // Mark exactly one image of the animal as primary, one statement for any number of images
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE AnimalImage i SET i.isPrimary = CASE WHEN i.id = :imageId THEN true ELSE false END " +
+           "WHERE i.animal.id = :animalId")
+    int updatePrimary(@Param("animalId") Long animalId, @Param("imageId") Long imageId);
+    
+    boolean existsByIdAndAnimalIdAndStatus(Long id, Long animalId, ImageStatus status);
+    
+    // First image in display order, the next primary when the primary is deleted
+    @Query("SELECT i.id FROM AnimalImage i WHERE i.animal.id = :animalId AND i.status = :status " +
+           "ORDER BY i.displayOrder, i.id")
+    List<Long> findIdsByAnimalIdAndStatusInDisplayOrder(@Param("animalId") Long animalId,
+                                                        @Param("status") ImageStatus status, Limit limit);
+    
+    // Processing result, written without touching is_primary or display_order
+    // that may have been changed while the image was being processed
+    @Modifying
+    @Transactional
+    @Query("UPDATE AnimalImage i SET i.status = :status, i.fileSize = :fileSize, i.failureReason = :failureReason " +
+           "WHERE i.id = :id")
+    int updateProcessingResult(@Param("id") Long id,
+                               @Param("status") ImageStatus status,
+                               @Param("fileSize") Long fileSize,
+                               @Param("failureReason") String failureReason);
+    
+    // Processed image with the same content, locked so it cannot be deleted
+    // before the row referencing its stored objects is committed
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<AnimalImage> findFirstByContentHashAndStatusOrderByIdAsc(String contentHash, ImageStatus status);
+    
+    // Every row referencing the stored objects under this key. A locking read,
+    // so it sees references committed after the transaction started.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM AnimalImage i WHERE i.s3Key = :s3Key")
+    List<AnimalImage> findReferencesForUpdate(@Param("s3Key") String s3Key);
+    
+    // Uploads still waiting for, or in, processing since before the given time
+    List<AnimalImage> findByStatusInAndUploadedAtBefore(Collection<ImageStatus> statuses, LocalDateTime before);
+    
+    // Find images by S3 key; several rows share a key when their content is the same
+    List<AnimalImage> findByS3Key(String s3Key);
     
     // Find images uploaded by a specific user
     List<AnimalImage> findByUploadedByIdOrderByUploadedAtDesc(Long userId);
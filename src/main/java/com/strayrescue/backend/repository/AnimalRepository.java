@@ -2,31 +2,121 @@ package com.strayrescue.backend.repository;
 
 import com.strayrescue.backend.model.Animal;
 import com.strayrescue.backend.model.AnimalStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AnimalRepository extends JpaRepository<Animal, Long> {
     
+    // Animals with images, uploaders, reporter and caretaker loaded for full DTO mapping
+    @EntityGraph(Animal.DETAILS_GRAPH)
+    List<Animal> findWithDetailsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Animal.DETAILS_GRAPH)
+    Optional<Animal> findWithDetailsById(Long id);
+    
     // Find animals by status
     List<Animal> findByStatus(AnimalStatus status);
     
     // Find animals by species
     List<Animal> findBySpeciesContainingIgnoreCase(String species);
     
-    // Find animals by location (within radius) - UPDATED for BigDecimal
+    // Spatial prefilter: animals in the given grid cells and bounding box.
+    // Exact distance is applied by the caller on this candidate set.
+    @Query("SELECT a FROM Animal a WHERE a.geoCell IN :cells " +
+           "AND a.latitude BETWEEN :minLat AND :maxLat " +
+           "AND a.longitude BETWEEN :minLng AND :maxLng")
+    List<Animal> findCandidatesInCells(@Param("cells") Collection<Long> cells,
+                                       @Param("minLat") BigDecimal minLat,
+                                       @Param("maxLat") BigDecimal maxLat,
+                                       @Param("minLng") BigDecimal minLng,
+                                       @Param("maxLng") BigDecimal maxLng);
+
+    // Spatial prefilter for large radii where enumerating cells is not worth it
     @Query("SELECT a FROM Animal a WHERE " +
-           "(6371 * ACOS(COS(RADIANS(:lat)) * COS(RADIANS(CAST(a.latitude AS double))) * " +
-           "COS(RADIANS(CAST(a.longitude AS double)) - RADIANS(:lng)) + " +
-           "SIN(RADIANS(:lat)) * SIN(RADIANS(CAST(a.latitude AS double))))) <= :radiusKm")
-    List<Animal> findAnimalsWithinRadius(@Param("lat") Double latitude, 
-                                       @Param("lng") Double longitude, 
-                                       @Param("radiusKm") Double radiusKm);
+           "a.latitude BETWEEN :minLat AND :maxLat " +
+           "AND a.longitude BETWEEN :minLng AND :maxLng")
+    List<Animal> findCandidatesInBox(@Param("minLat") BigDecimal minLat,
+                                     @Param("maxLat") BigDecimal maxLat,
+                                     @Param("minLng") BigDecimal minLng,
+                                     @Param("maxLng") BigDecimal maxLng);
+
+    // Duplicate-report candidates: same species, inside the box, seen since :since.
+    // Served by idx_animals_duplicate_lookup; the longitude and last_seen_at
+    // conditions are checked in the index before any row is read.
+    @Query("SELECT a FROM Animal a WHERE a.species = :species AND a.geoCell IN :cells " +
+           "AND a.latitude BETWEEN :minLat AND :maxLat " +
+           "AND a.longitude BETWEEN :minLng AND :maxLng " +
+           "AND a.lastSeenAt >= :since AND a.status NOT IN :statuses")
+    List<Animal> findDuplicateCandidates(@Param("species") String species,
+                                         @Param("cells") Collection<Long> cells,
+                                         @Param("minLat") BigDecimal minLat,
+                                         @Param("maxLat") BigDecimal maxLat,
+                                         @Param("minLng") BigDecimal minLng,
+                                         @Param("maxLng") BigDecimal maxLng,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("statuses") Collection<AnimalStatus> statuses);
+
+    // Coordinates of every located animal outside the given statuses
+    @Query("SELECT a.id AS id, a.latitude AS latitude, a.longitude AS longitude, a.status AS status FROM Animal a " +
+           "WHERE a.status NOT IN :statuses " +
+           "AND a.latitude IS NOT NULL AND a.longitude IS NOT NULL")
+    List<LocationView> findLocationsExcludingStatuses(@Param("statuses") Collection<AnimalStatus> statuses);
+
+    // Rows written before geo_cell existed
+    List<Animal> findByGeoCellIsNullAndLatitudeIsNotNullAndLongitudeIsNotNull(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Animal a SET a.geoCell = :cell WHERE a.id = :id")
+    int updateGeoCell(@Param("id") Long id, @Param("cell") Long cell);
+
+    // Never moves last_seen_at backwards when sightings arrive out of order
+    @Modifying
+    @Transactional
+    @Query("UPDATE Animal a SET a.lastSeenAt = :seenAt WHERE a.id = :id " +
+           "AND (a.lastSeenAt IS NULL OR a.lastSeenAt < :seenAt)")
+    int updateLastSeenAt(@Param("id") Long id, @Param("seenAt") LocalDateTime seenAt);
+
+    // Rows created before last_seen_at was maintained
+    @Modifying
+    @Transactional
+    @Query("UPDATE Animal a SET a.lastSeenAt = a.createdAt WHERE a.lastSeenAt IS NULL")
+    int backfillLastSeenAt();
+
+    // Row lock that serializes changes to one animal's images
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Animal a WHERE a.id = :id")
+    Optional<Animal> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Animal a SET a.primaryImageId = :imageId WHERE a.id = :id")
+    int updatePrimaryImageId(@Param("id") Long id, @Param("imageId") Long imageId);
+
+    // Fill primary_image_id for rows written before the column existed
+    @Modifying
+    @Transactional
+    @Query("UPDATE Animal a SET a.primaryImageId = " +
+           "(SELECT MIN(i.id) FROM AnimalImage i WHERE i.animal.id = a.id AND i.isPrimary = true) " +
+           "WHERE a.primaryImageId IS NULL AND EXISTS " +
+           "(SELECT 1 FROM AnimalImage i WHERE i.animal.id = a.id AND i.isPrimary = true)")
+    int backfillPrimaryImageIds();
     
     // Find animals reported by a specific user
     List<Animal> findByReportedByIdOrderByCreatedAtDesc(Long userId);
@@ -37,6 +127,59 @@ public interface AnimalRepository extends JpaRepository<Animal, Long> {
     // Find animals by status and species
     List<Animal> findByStatusAndSpeciesContainingIgnoreCase(AnimalStatus status, String species);
     
+    // Keyset pages ordered by (createdAt DESC, id DESC): rows strictly after the cursor
+    @Query("SELECT a FROM Animal a WHERE " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Animal> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Limit limit);
+
+    @Query("SELECT a FROM Animal a WHERE a.status = :status AND " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Animal> findPageByStatusAfter(@Param("status") AnimalStatus status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    @Query("SELECT a FROM Animal a WHERE LOWER(a.species) LIKE LOWER(CONCAT('%', :species, '%')) AND " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Animal> findPageBySpeciesAfter(@Param("species") String species,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("SELECT a FROM Animal a WHERE " +
+           "(LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(a.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Animal> searchPageAfter(@Param("search") String searchTerm,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    // Relevance-ranked search over the ft_animals_name_description FULLTEXT index.
+    // :query is a MariaDB boolean-mode expression, see AnimalService.toFullTextQuery.
+    @Query(value = "SELECT * FROM animals " +
+                   "WHERE MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) DESC, id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Animal> fullTextSearch(@Param("query") String query,
+                                @Param("limit") int limit,
+                                @Param("offset") int offset);
+
+    @Query("SELECT a FROM Animal a WHERE a.createdAt > :since AND " +
+           "(a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Animal> findRecentPageAfter(@Param("since") LocalDateTime since,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+    
     // Search animals by name or description
     @Query("SELECT a FROM Animal a WHERE " +
            "LOWER(a.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -45,4 +188,38 @@ public interface AnimalRepository extends JpaRepository<Animal, Long> {
     
     // Count animals by status
     long countByStatus(AnimalStatus status);
+
+    @Query("SELECT MIN(a.createdAt) FROM Animal a")
+    LocalDateTime findEarliestCreatedAt();
+
+    // Rollup rebuild: the rows of one created_at range, share-locked so writes
+    // to them wait until the rebuilt rollup rows are committed
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT a.createdAt AS createdAt, a.species AS species, a.status AS status " +
+           "FROM Animal a WHERE a.createdAt >= :from AND a.createdAt < :to")
+    List<StatsRow> findStatsRowsForShare(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Rollup rebuild: the animals of a chunk of reporters, share-locked
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT a.reportedBy.id AS reporterId, a.createdAt AS createdAt " +
+           "FROM Animal a WHERE a.reportedBy.id IN :userIds")
+    List<ReporterRow> findReporterRowsForShare(@Param("userIds") Collection<Long> userIds);
+
+    interface StatsRow {
+        LocalDateTime getCreatedAt();
+        String getSpecies();
+        AnimalStatus getStatus();
+    }
+
+    interface ReporterRow {
+        Long getReporterId();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface LocationView {
+        Long getId();
+        BigDecimal getLatitude();
+        BigDecimal getLongitude();
+        AnimalStatus getStatus();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.strayrescue.backend.repository;
+
+import com.strayrescue.backend.model.AnimalStatusTotal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface AnimalStatusTotalRepository extends JpaRepository<AnimalStatusTotal, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO animal_status_totals (species, status, animal_count) " +
+                   "VALUES (:species, :status, :delta) " +
+                   "ON DUPLICATE KEY UPDATE animal_count = animal_count + :delta",
+           nativeQuery = true)
+    void increment(@Param("species") String species,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    // Every row locked, so writers wait while the totals are rebuilt
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM AnimalStatusTotal t")
+    List<AnimalStatusTotal> findAllForUpdate();
+}
@@ -0,0 +1,44 @@
+package com.strayrescue.backend.repository;
+
+import com.strayrescue.backend.model.ReporterStat;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReporterStatRepository extends JpaRepository<ReporterStat, Long> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO reporter_stats (user_id, reported_count, last_reported_at) " +
+                   "VALUES (:userId, 1, :reportedAt) " +
+                   "ON DUPLICATE KEY UPDATE reported_count = reported_count + 1, " +
+                   "last_reported_at = CASE WHEN last_reported_at IS NULL OR last_reported_at < :reportedAt " +
+                   "THEN :reportedAt ELSE last_reported_at END",
+           nativeQuery = true)
+    void recordReport(@Param("userId") Long userId, @Param("reportedAt") LocalDateTime reportedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO reporter_stats (user_id, reported_count) VALUES (:userId, :delta) " +
+                   "ON DUPLICATE KEY UPDATE reported_count = reported_count + :delta",
+           nativeQuery = true)
+    void adjustReportedCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // Most active reporters first, served from idx_reporter_stats_count
+    @Query("SELECT r FROM ReporterStat r WHERE r.reportedCount > 0 ORDER BY r.reportedCount DESC, r.userId DESC")
+    List<ReporterStat> findTop(Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ReporterStat r WHERE r.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
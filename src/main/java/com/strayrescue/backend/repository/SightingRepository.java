@@ -0,0 +1,25 @@
+package com.strayrescue.backend.repository;
+
+import com.strayrescue.backend.model.Sighting;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SightingRepository extends JpaRepository<Sighting, Long> {
+
+    // Sightings of an animal, newest first (reporter loaded for the DTO)
+    @EntityGraph(attributePaths = "reportedBy")
+    List<Sighting> findByAnimalIdOrderBySeenAtDesc(Long animalId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Sighting s WHERE s.animal.id = :animalId")
+    int deleteByAnimalId(@Param("animalId") Long animalId);
+}
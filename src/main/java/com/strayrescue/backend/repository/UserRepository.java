@@ -2,8 +2,10 @@ package com.strayrescue.backend.repository;
 
 import com.strayrescue.backend.model.User;
 import com.strayrescue.backend.model.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -34,4 +36,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Custom query to find active users (if you add an 'active' field later)
     @Query("SELECT u FROM User u WHERE u.role = :role ORDER BY u.createdAt DESC")
     List<User> findByRoleOrderByCreatedAtDesc(UserRole role);
-}
\ No newline at end of file
+
+    // User ids in order, for jobs that walk all users in chunks
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+}
@@ -1,10 +1,14 @@
 package com.strayrescue.backend.security;
 
+import com.strayrescue.backend.tracing.Stage;
+import com.strayrescue.backend.tracing.Tracing;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -23,6 +28,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Build the principal from token claims only; role changes then take
+    // effect when the user's token is reissued instead of within the cache TTL
+    @Value("${app.security.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     // @Override
     // protected void doFilterInternal(@NonNull HttpServletRequest request, 
     //                               @NonNull HttpServletResponse response, 
@@ -51,38 +64,43 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
                                 @NonNull HttpServletResponse response, 
                                 @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Tracing.begin(Stage.AUTH);
         try {
             String jwt = parseJwt(request);
-            logger.info("=== JWT Filter Debug ===");
-            logger.info("Request URI: " + request.getRequestURI());
-            logger.info("Request Method: " + request.getMethod());
-            logger.info("JWT Token: " + (jwt != null ? "Present" : "Null"));
-            
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                logger.info("Username from JWT: " + username);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                logger.info("User authorities: " + userDetails.getAuthorities());
-                
+            Claims claims = jwt != null ? jwtUtils.verifyAndExtract(jwt) : null;
+            if (claims != null) {
+                UserDetails userDetails = loadPrincipal(claims.getSubject(), claims);
+
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, 
                                                             userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.info("Authentication set successfully for user: " + username);
-            } else {
-                logger.warn("JWT token is null or invalid");
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: " + e.getMessage());
-            e.printStackTrace(); // This will show the full stack trace
+        } finally {
+            Tracing.end(Stage.AUTH);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadPrincipal(String username, Claims claims) {
+        if (statelessPrincipal) {
+            Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+            List<?> roles = claims.get(JwtUtils.ROLES_CLAIM, List.class);
+            if (userId != null && roles != null) {
+                return UserPrincipal.fromClaims(userId, username,
+                        roles.stream().map(String::valueOf).toList());
+            }
+            // Token issued before the claims existed, fall through to a lookup
+        }
+        return principalCache.get(username, claims.getIssuedAt(),
+                () -> userDetailsService.loadUserByUsername(username));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
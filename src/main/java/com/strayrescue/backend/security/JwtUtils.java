@@ -1,7 +1,15 @@
 package com.strayrescue.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -9,10 +17,22 @@ import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    // Claims that let AuthTokenFilter build the principal without a user lookup
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
     
     @Value("${app.jwtSecret:#{environment.APP_JWT_SECRET}}")
     private String jwtSecret;
@@ -20,8 +40,27 @@ public class JwtUtils {
     @Value("${app.jwtExpirationMs:14400000}")  // 4 hours default
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private SecretKey signingKey;
 
+    // Immutable and thread-safe, built once
+    private JwtParser parser;
+
+    // Claims of tokens that already passed verification, kept until the token
+    // expires. Keyed by the token's SHA-256 so live bearer tokens are not held
+    // (or visible in a heap dump) as cache keys.
+    private Cache<TokenDigest, Claims> verifiedTokens;
+
+    // SHA-256 instances reused across requests; a pool rather than a
+    // ThreadLocal, which would not be reused on virtual request threads
+    private final ArrayBlockingQueue<MessageDigest> digests =
+            new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
     @PostConstruct
     public void validateConfiguration() {
         if (jwtSecret == null || jwtSecret.trim().isEmpty()) {
@@ -40,9 +79,17 @@ public class JwtUtils {
         
         // Initialize the signing key once during startup
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        System.out.println("✅ JWT configuration validated successfully");
-        System.out.println("📊 JWT expiration time: " + (jwtExpirationMs / 1000 / 60) + " minutes");
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.tokens");
+
+        logger.info("JWT configuration validated, token expiration time: {} minutes", jwtExpirationMs / 1000 / 60);
     }
 
     private SecretKey getSigningKey() {
@@ -52,41 +99,106 @@ public class JwtUtils {
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(authority -> authority.getAuthority())
+                .toList();
+
         return Jwts.builder()
                 .subject(userPrincipal.getUsername())
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(ROLES_CLAIM, roles)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSigningKey())
                 .compact();
     }
 
+    /**
+     * Verify the token and return its claims, or null if it is malformed,
+     * badly signed or expired. A token is verified and parsed once; later
+     * calls with the same token return the cached claims until it expires.
+     */
+    public Claims verifyAndExtract(String token) {
+        try {
+            return verifiedTokens.get(digest(token), key -> verify(token));
+        } catch (ExpiredJwtException e) {
+            logger.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    // Full signature check and parse, bypassing the cache
+    Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private TokenDigest digest(String token) {
+        MessageDigest sha256 = digests.poll();
+        if (sha256 == null) {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+        try {
+            // digest() also resets the instance for its next user
+            return new TokenDigest(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            digests.offer(sha256);
+        }
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = verifyAndExtract(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            System.err.println("❌ Invalid JWT token: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            System.err.println("❌ JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("❌ JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("❌ JWT claims string is empty: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("❌ JWT validation error: " + e.getMessage());
+        return verifyAndExtract(authToken) != null;
+    }
+
+    private static final class TokenDigest {
+        private final byte[] hash;
+        private final int hashCode;
+
+        TokenDigest(byte[] hash) {
+            this.hash = hash;
+            this.hashCode = Arrays.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenDigest && Arrays.equals(hash, ((TokenDigest) o).hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<TokenDigest, Claims> {
+        @Override
+        public long expireAfterCreate(TokenDigest tokenDigest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0; // Never cache tokens that do not expire
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest tokenDigest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest tokenDigest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.strayrescue.backend.security;
+
+/**
+ * Thrown when the password hashing pool cannot take more work.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.strayrescue.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strayrescue.backend.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Principals loaded by AuthTokenFilter, keyed by username and the token's
+ * issued-at time, so repeated requests with the same token skip the user
+ * lookup. Entries for a user are dropped when the user changes; the TTL
+ * bounds how long any other change (e.g. made directly in the database)
+ * can go unnoticed.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<Key, UserDetails> principals;
+
+    // Bumped before every eviction, so a principal loaded before a role change
+    // or lock cannot be stored after the eviction ran
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    public UserDetails get(String username, Date issuedAt, Supplier<UserDetails> loader) {
+        // Loaded outside the cache: loadUserByUsername queries the database, and
+        // blocking inside Caffeine's compute pins a virtual thread to its carrier.
+        // Only the generation check runs inside compute, which serializes it
+        // with evict's removal of the same key.
+        Key key = new Key(username, issuedAt);
+        UserDetails principal = principals.getIfPresent(key);
+        if (principal == null) {
+            long loadedAt = generation.get();
+            principal = loader.get();
+            UserDetails loaded = principal;
+            principals.asMap().compute(key, (k, current) -> generation.get() == loadedAt ? loaded : current);
+        }
+        return principal;
+    }
+
+    public void evict(String username) {
+        generation.incrementAndGet();
+        principals.asMap().keySet().removeIf(key -> key.username.equals(username));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUsername());
+    }
+
+    private static final class Key {
+        private final String username;
+        private final Date issuedAt;
+
+        Key(String username, Date issuedAt) {
+            this.username = username;
+            this.issuedAt = issuedAt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return username.equals(other.username) && Objects.equals(issuedAt, other.issuedAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, issuedAt);
+        }
+    }
+}
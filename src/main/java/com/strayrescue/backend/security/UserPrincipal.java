@@ -7,6 +7,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 public class UserPrincipal implements UserDetails {
     private Long id;
@@ -36,6 +37,15 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Principal rebuilt from signed token claims; carries no email or password
+    public static UserPrincipal fromClaims(Long id, String username, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        return new UserPrincipal(id, username, null, null, authorities);
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,24 +1,89 @@
 package com.strayrescue.backend.service;
 
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.config.FullTextIndexInitializer;
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalSummaryDto;
+import com.strayrescue.backend.dto.response.CursorPage;
+import com.strayrescue.backend.dto.response.DuplicateCandidateDto;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.geo.ActiveAnimalIndex;
+import com.strayrescue.backend.geo.GeoGrid;
+import com.strayrescue.backend.mapper.AnimalMapper;
 import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
 import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.ImageVariant;
+import com.strayrescue.backend.model.Sighting;
 import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
 import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.SightingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AnimalService {
 
+    private static final double DEFAULT_RADIUS_KM = 10.0;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    // innodb_ft_min_token_size default
+    private static final int MIN_FULLTEXT_TOKEN_LENGTH = 3;
+    private static final int MAX_CELLS_PER_QUERY = 256;
+    private static final int GEO_CELL_BACKFILL_BATCH = 500;
+
     @Autowired
     private AnimalRepository animalRepository;
 
+    @Autowired
+    private AnimalImageRepository animalImageRepository;
+
+    @Autowired
+    private SightingRepository sightingRepository;
+
+    @Autowired
+    private ActiveAnimalIndex activeAnimalIndex;
+
+    @Autowired
+    private DuplicateReportDetector duplicateReportDetector;
+
+    @Autowired
+    private AnimalMapper animalMapper;
+
+    @Autowired
+    private AnimalReadCache readCache;
+
+    @Autowired
+    private AnimalStatsService animalStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FullTextIndexInitializer fullTextIndex;
+
     // Report a new animal
+    @Transactional
     public Animal reportAnimal(String name, String species, String description,
                               Double latitude, Double longitude, String locationDescription,
                               AnimalStatus status, User reportedBy) {
@@ -35,13 +100,61 @@ public class AnimalService {
         animal.setLocationDescription(locationDescription);
         animal.setStatus(status);
         animal.setReportedBy(reportedBy);
+        animal.setLastSeenAt(animal.getCreatedAt());
+
+        Animal saved = animalRepository.save(animal);
+        eventPublisher.publishEvent(AnimalChangedEvent.created(saved));
+        return saved;
+    }
+
+    // Existing animals the report may describe again, most likely first.
+    // Meant to be called before reportAnimal so the client can add a sighting instead.
+    public List<DuplicateCandidateDto> findDuplicateCandidates(String species, Double latitude, Double longitude,
+                                                               String description, String locationDescription) {
+        List<DuplicateReportDetector.Candidate> candidates = duplicateReportDetector.findCandidates(
+                species, latitude, longitude, description, locationDescription);
+        List<AnimalSummaryDto> summaries = toSummaries(candidates.stream()
+                .map(DuplicateReportDetector.Candidate::getAnimal)
+                .collect(Collectors.toList()));
+
+        List<DuplicateCandidateDto> result = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            DuplicateReportDetector.Candidate candidate = candidates.get(i);
+            result.add(new DuplicateCandidateDto(summaries.get(i), candidate.getDistanceKm(),
+                    candidate.getTextSimilarity(), candidate.getScore()));
+        }
+        return result;
+    }
+
+    // Record that an already reported animal was seen again
+    @Transactional
+    public Sighting recordSighting(Long animalId, Double latitude, Double longitude, String note, User reportedBy) {
+        Animal animal = animalRepository.findById(animalId)
+                .orElseThrow(() -> new RuntimeException("Animal not found"));
+
+        Sighting sighting = new Sighting(animal, reportedBy);
+        sighting.setLatitude(latitude != null ? BigDecimal.valueOf(latitude) : null);
+        sighting.setLongitude(longitude != null ? BigDecimal.valueOf(longitude) : null);
+        sighting.setNote(note);
+        Sighting saved = sightingRepository.save(sighting);
+
+        animalRepository.updateLastSeenAt(animalId, saved.getSeenAt());
+        eventPublisher.publishEvent(AnimalChangedEvent.updated(animal));
+        return saved;
+    }
 
-        return animalRepository.save(animal);
+    // Sightings of an animal, newest first
+    public List<Sighting> getSightings(Long animalId) {
+        return sightingRepository.findByAnimalIdOrderBySeenAtDesc(animalId);
     }
 
-    // Get all animals
-    public List<Animal> getAllAnimals() {
-        return animalRepository.findAll();
+    // Get all animals, one keyset page at a time (newest first)
+    public CursorPage<AnimalSummaryDto> getAnimalPage(String cursor, int size) {
+        AnimalCursor position = AnimalCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        AnimalReadCache.PageKey key = new AnimalReadCache.PageKey(null, position.getCreatedAt(), position.getId(), pageSize);
+        return readCache.getPage(key, () -> toSummaryPage(animalRepository.findPageAfter(
+                position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1)), pageSize));
     }
 
     // Get animal by ID
@@ -49,19 +162,171 @@ public class AnimalService {
         return animalRepository.findById(id);
     }
 
+    // Get animal by ID with everything the full DTO needs
+    public Optional<Animal> getAnimalWithDetails(Long id) {
+        return animalRepository.findWithDetailsById(id);
+    }
+
+    // Get the full DTO for an animal (cached)
+    public Optional<AnimalDto> getAnimalDetails(Long id) {
+        return Optional.ofNullable(readCache.getDetails(id,
+                () -> getAnimalWithDetails(id).map(animalMapper::toDto).orElse(null)));
+    }
+
     // Get animals by status
-    public List<Animal> getAnimalsByStatus(AnimalStatus status) {
-        return animalRepository.findByStatus(status);
+    public CursorPage<AnimalSummaryDto> getAnimalsByStatus(AnimalStatus status, String cursor, int size) {
+        AnimalCursor position = AnimalCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        AnimalReadCache.PageKey key = new AnimalReadCache.PageKey(status, position.getCreatedAt(), position.getId(), pageSize);
+        return readCache.getPage(key, () -> toSummaryPage(animalRepository.findPageByStatusAfter(
+                status, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1)), pageSize));
     }
 
     // Search animals by species
-    public List<Animal> searchBySpecies(String species) {
-        return animalRepository.findBySpeciesContainingIgnoreCase(species);
+    public CursorPage<AnimalSummaryDto> searchBySpecies(String species, String cursor, int size) {
+        AnimalCursor position = AnimalCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        return toSummaryPage(animalRepository.findPageBySpeciesAfter(
+                species, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1)), pageSize);
     }
 
-    // Find animals near location
-    public List<Animal> findAnimalsNearLocation(Double latitude, Double longitude, Double radiusKm) {
-        return animalRepository.findAnimalsWithinRadius(latitude, longitude, radiusKm);
+    // DTOs for findAnimalsNearLocation (cached)
+    public List<AnimalDto> findAnimalDtosNearLocation(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        // Boxed on purpose: a primitive in the conditional would unbox a null radiusKm
+        Double effectiveRadiusKm = radiusKm == null && limit == null ? Double.valueOf(DEFAULT_RADIUS_KM) : radiusKm;
+        AnimalReadCache.NearKey key = new AnimalReadCache.NearKey(latitude, longitude, effectiveRadiusKm, limit);
+        return readCache.getNear(key, () -> animalMapper.toDtoList(
+                findAnimalsNearLocation(key.getLatitude(), key.getLongitude(), effectiveRadiusKm, limit)));
+    }
+
+    // Find active animals near location, sorted by distance. Answered from the
+    // in-memory index; only the matching rows are loaded by primary key.
+    // When limit is set, returns the nearest `limit` animals (radius optional).
+    public List<Animal> findAnimalsNearLocation(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        if (!activeAnimalIndex.isReady()) {
+            List<Animal> animals = findAnimalsNearLocationInDatabase(latitude, longitude,
+                    radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM);
+            return limit != null && animals.size() > limit ? animals.subList(0, limit) : animals;
+        }
+
+        List<ActiveAnimalIndex.Neighbor> neighbors = limit != null
+                ? activeAnimalIndex.findNearest(latitude, longitude, limit, radiusKm)
+                : activeAnimalIndex.findWithinRadius(latitude, longitude,
+                        radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM);
+
+        List<Long> ids = neighbors.stream()
+                .map(ActiveAnimalIndex.Neighbor::getAnimalId)
+                .collect(Collectors.toList());
+        return findAllByIdInOrder(ids);
+    }
+
+    // Database variant of the radius search, used until the index is loaded.
+    // Candidates come from the geo_cell index (or a lat/lng range scan for very
+    // large radii); the exact haversine distance is only computed on those.
+    public List<Animal> findAnimalsNearLocationInDatabase(Double latitude, Double longitude, Double radiusKm) {
+        GeoGrid.BoundingBox box = GeoGrid.boundingBox(latitude, longitude, radiusKm);
+        BigDecimal minLat = BigDecimal.valueOf(box.getMinLat());
+        BigDecimal maxLat = BigDecimal.valueOf(box.getMaxLat());
+        BigDecimal minLng = BigDecimal.valueOf(box.getMinLng());
+        BigDecimal maxLng = BigDecimal.valueOf(box.getMaxLng());
+
+        List<Long> cells = GeoGrid.cellsCovering(box, MAX_CELLS_PER_QUERY);
+        List<Animal> candidates = cells != null
+                ? animalRepository.findCandidatesInCells(cells, minLat, maxLat, minLng, maxLng)
+                : animalRepository.findCandidatesInBox(minLat, maxLat, minLng, maxLng);
+
+        List<AnimalDistance> matches = new ArrayList<>(candidates.size());
+        for (Animal animal : candidates) {
+            double distance = GeoGrid.distanceKm(latitude, longitude,
+                    animal.getLatitude().doubleValue(), animal.getLongitude().doubleValue());
+            if (distance <= radiusKm && !animal.getStatus().isTerminal()) {
+                matches.add(new AnimalDistance(animal, distance));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(AnimalDistance::getDistanceKm));
+
+        return matches.stream()
+                .map(AnimalDistance::getAnimal)
+                .collect(Collectors.toList());
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Build a page from up to pageSize + 1 rows; the extra row only signals that more exist.
+    // Primary images for the whole page are fetched by key in a single query.
+    private CursorPage<AnimalSummaryDto> toSummaryPage(List<Animal> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Animal> animals = hasMore ? rows.subList(0, pageSize) : rows;
+        List<AnimalSummaryDto> items = toSummaries(animals);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Animal last = animals.get(animals.size() - 1);
+            nextCursor = new AnimalCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, items.size());
+    }
+
+    // Summary DTOs in the order given, primary images fetched in one query
+    private List<AnimalSummaryDto> toSummaries(List<Animal> animals) {
+        Map<Long, String> primaryImageUrls = new HashMap<>();
+        List<Long> imageIds = animals.stream()
+                .map(Animal::getPrimaryImageId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (!imageIds.isEmpty()) {
+            for (AnimalImage image : animalImageRepository.findAllById(imageIds)) {
+                if (image.getStatus() != ImageStatus.READY) {
+                    continue;
+                }
+                primaryImageUrls.put(image.getAnimal().getId(), image.getUrlFor(ImageVariant.THUMBNAIL));
+            }
+        }
+
+        return animals.stream()
+                .map(a -> animalMapper.toSummaryDto(a, primaryImageUrls.get(a.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Load animals by id, keeping the order of the given ids
+    private List<Animal> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Animal> byId = animalRepository.findWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Animal::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Fill geo_cell for rows created before the column existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeoCells() {
+        List<Animal> batch;
+        do {
+            batch = animalRepository.findByGeoCellIsNullAndLatitudeIsNotNullAndLongitudeIsNotNull(
+                    PageRequest.of(0, GEO_CELL_BACKFILL_BATCH));
+            for (Animal animal : batch) {
+                long cell = GeoGrid.cellOf(animal.getLatitude().doubleValue(), animal.getLongitude().doubleValue());
+                animalRepository.updateGeoCell(animal.getId(), cell);
+            }
+        } while (batch.size() == GEO_CELL_BACKFILL_BATCH);
+    }
+
+    // Fill primary_image_id for rows created before the column existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPrimaryImageIds() {
+        animalRepository.backfillPrimaryImageIds();
+    }
+
+    // Fill last_seen_at for rows created before it was maintained
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLastSeenAt() {
+        animalRepository.backfillLastSeenAt();
     }
 
     // Get animals reported by user
@@ -69,49 +334,120 @@ public class AnimalService {
         return animalRepository.findByReportedByIdOrderByCreatedAtDesc(userId);
     }
 
-    // Search animals
-    public List<Animal> searchAnimals(String searchTerm) {
-        return animalRepository.searchAnimals(searchTerm);
+    // Search animals by name and description, most relevant first.
+    // Uses the FULLTEXT index; terms shorter than the index's minimum token
+    // length (or a disabled or missing index) fall back to the LIKE scan, newest first.
+    public CursorPage<AnimalSummaryDto> searchAnimals(String searchTerm, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        String query = fullTextIndex.isAvailable() ? toFullTextQuery(searchTerm) : null;
+
+        if (query == null) {
+            AnimalCursor position = AnimalCursor.decode(cursor);
+            return toSummaryPage(animalRepository.searchPageAfter(
+                    searchTerm, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1)), pageSize);
+        }
+
+        int offset = OffsetCursor.decode(cursor);
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_OFFSET + " matches");
+        }
+        CursorPage<AnimalSummaryDto> page = toSummaryPage(
+                animalRepository.fullTextSearch(query, pageSize + 1, offset), pageSize);
+        if (page.getNextCursor() != null) {
+            page.setNextCursor(OffsetCursor.encode(offset + pageSize));
+        }
+        return page;
+    }
+
+    // Turn free text into a boolean-mode expression: every word becomes an
+    // optional prefix term ("kitten*"), so more matching words rank higher.
+    // Returns null when no word is long enough to be in the index.
+    static String toFullTextQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : searchTerm.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_FULLTEXT_TOKEN_LENGTH) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(word).append('*');
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
     }
 
     // Update animal status
+    @Transactional
     public Animal updateAnimalStatus(Long id, AnimalStatus newStatus) {
         Animal animal = animalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Animal not found"));
         
+        AnimalStatus previousStatus = animal.getStatus();
         animal.setStatus(newStatus);
         animal.setUpdatedAt(LocalDateTime.now());
         
-        return animalRepository.save(animal);
+        Animal saved = animalRepository.save(animal);
+        eventPublisher.publishEvent(AnimalChangedEvent.statusChanged(saved, previousStatus));
+        return saved;
     }
 
     // Update animal details
+    @Transactional
     public Animal updateAnimal(Long id, String name, String species, String description, String locationDescription) {
         Animal animal = animalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Animal not found"));
         
+        String previousSpecies = animal.getSpecies();
         animal.setName(name);
         animal.setSpecies(species);
         animal.setDescription(description);
         animal.setLocationDescription(locationDescription);
         animal.setUpdatedAt(LocalDateTime.now());
         
-        return animalRepository.save(animal);
+        Animal saved = animalRepository.save(animal);
+        eventPublisher.publishEvent(AnimalChangedEvent.updated(saved, previousSpecies));
+        return saved;
     }
 
-    // Delete animal
+    // Delete animal; an unknown id is a no-op, as with deleteById. The row is
+    // loaded first because the change event carries its status and location
+    @Transactional
     public void deleteAnimal(Long id) {
-        animalRepository.deleteById(id);
+        Animal animal = animalRepository.findById(id).orElse(null);
+        if (animal == null) {
+            return;
+        }
+        sightingRepository.deleteByAnimalId(id);
+        animalRepository.delete(animal);
+        eventPublisher.publishEvent(AnimalChangedEvent.deleted(animal));
     }
 
     // Get recent animals (last 24 hours)
-    public List<Animal> getRecentAnimals() {
+    public CursorPage<AnimalSummaryDto> getRecentAnimals(String cursor, int size) {
         LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
-        return animalRepository.findByCreatedAtAfterOrderByCreatedAtDesc(yesterday);
+        AnimalCursor position = AnimalCursor.decode(cursor);
+        int pageSize = clampPageSize(size);
+        return toSummaryPage(animalRepository.findRecentPageAfter(
+                yesterday, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1)), pageSize);
     }
 
-    // Get animal statistics
+    // Get animal statistics, from the rollup rather than a COUNT over animals
     public long countAnimalsByStatus(AnimalStatus status) {
-        return animalRepository.countByStatus(status);
+        return animalStatsService.countByStatus(status);
+    }
+
+    private static class AnimalDistance {
+        private final Animal animal;
+        private final double distanceKm;
+
+        AnimalDistance(Animal animal, double distanceKm) {
+            this.animal = animal;
+            this.distanceKm = distanceKm;
+        }
+
+        Animal getAnimal() { return animal; }
+        double getDistanceKm() { return distanceKm; }
     }
 }
\ No newline at end of file
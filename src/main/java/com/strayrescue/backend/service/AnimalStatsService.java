@@ -0,0 +1,402 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.dto.response.PeriodStatDto;
+import com.strayrescue.backend.dto.response.ReporterStatDto;
+import com.strayrescue.backend.dto.response.StatsSummaryDto;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.model.AnimalDailyStat;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.AnimalStatusTotal;
+import com.strayrescue.backend.model.ReporterStat;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalDailyStatRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.AnimalStatusTotalRepository;
+import com.strayrescue.backend.repository.ReporterStatRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dashboard statistics served from rollup tables instead of scans of animals:
+ * animal_daily_stats (report day x species x status), animal_status_totals
+ * (species x status) and reporter_stats (per user).
+ *
+ * The rollups are updated from AnimalChangedEvent just before the animal
+ * write commits, in the same transaction, with atomic upserts. rebuild()
+ * recomputes them from the base tables in chunks to repair any drift (rows
+ * changed outside AnimalService, or data from before the rollups existed).
+ */
+@Service
+public class AnimalStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnimalStatsService.class);
+
+    private static final String UNKNOWN_SPECIES = "unknown";
+    private static final int MAX_SPECIES_LENGTH = 100;
+    private static final int MAX_RANGE_DAYS = 731;
+    private static final int MAX_TOP_REPORTERS = 100;
+
+    @Autowired
+    private AnimalDailyStatRepository dailyStatRepository;
+
+    @Autowired
+    private AnimalStatusTotalRepository statusTotalRepository;
+
+    @Autowired
+    private ReporterStatRepository reporterStatRepository;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.stats.rebuild-chunk-days:7}")
+    private int rebuildChunkDays;
+
+    @Value("${app.stats.rebuild-chunk-users:500}")
+    private int rebuildChunkUsers;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Rollup keys ignore case and surrounding spaces ("Dog " and "dog" are one species)
+    public static String normalizeSpecies(String species) {
+        if (species == null || species.isBlank()) {
+            return UNKNOWN_SPECIES;
+        }
+        String normalized = species.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_SPECIES_LENGTH ? normalized.substring(0, MAX_SPECIES_LENGTH) : normalized;
+    }
+
+    // Runs inside the animal write's transaction (or right away without one),
+    // so an animal change and its rollup deltas commit or roll back together
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        LocalDate day = event.getCreatedAt() != null ? event.getCreatedAt().toLocalDate() : LocalDate.now();
+        String species = normalizeSpecies(event.getSpecies());
+        AnimalStatus status = event.getStatus();
+
+        switch (event.getType()) {
+            case CREATED:
+                move(day, null, null, species, status);
+                if (event.getReportedById() != null) {
+                    reporterStatRepository.recordReport(event.getReportedById(),
+                            event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now());
+                }
+                break;
+            case STATUS_CHANGED:
+                if (event.getPreviousStatus() != status) {
+                    move(day, species, event.getPreviousStatus(), species, status);
+                }
+                break;
+            case UPDATED:
+                String previousSpecies = normalizeSpecies(event.getPreviousSpecies());
+                if (!previousSpecies.equals(species)) {
+                    move(day, previousSpecies, status, species, status);
+                }
+                break;
+            case DELETED:
+                move(day, species, status, null, null);
+                if (event.getReportedById() != null) {
+                    reporterStatRepository.adjustReportedCount(event.getReportedById(), -1);
+                }
+                break;
+        }
+    }
+
+    // One animal leaves (fromSpecies, fromStatus) and joins (toSpecies, toStatus);
+    // either side may be absent. Rows are always touched in the same order so
+    // two writers moving animals in opposite directions cannot deadlock.
+    private void move(LocalDate day, String fromSpecies, AnimalStatus fromStatus,
+                      String toSpecies, AnimalStatus toStatus) {
+        List<Delta> deltas = new ArrayList<>(2);
+        if (fromStatus != null) {
+            deltas.add(new Delta(fromSpecies, fromStatus, -1));
+        }
+        if (toStatus != null) {
+            deltas.add(new Delta(toSpecies, toStatus, 1));
+        }
+        deltas.sort(null);
+        for (Delta delta : deltas) {
+            dailyStatRepository.increment(day, delta.species, delta.status.name(), delta.amount);
+        }
+        for (Delta delta : deltas) {
+            statusTotalRepository.increment(delta.species, delta.status.name(), delta.amount);
+        }
+    }
+
+    // Current counts by status and species
+    public StatsSummaryDto getSummary() {
+        Map<AnimalStatus, Long> byStatus = new EnumMap<>(AnimalStatus.class);
+        Map<String, Long> bySpecies = new TreeMap<>();
+        Map<String, Map<AnimalStatus, Long>> bySpeciesAndStatus = new TreeMap<>();
+        long total = 0;
+        for (AnimalStatusTotal row : statusTotalRepository.findAll()) {
+            if (row.getCount() == 0) {
+                continue;
+            }
+            total += row.getCount();
+            byStatus.merge(row.getStatus(), row.getCount(), Long::sum);
+            bySpecies.merge(row.getSpecies(), row.getCount(), Long::sum);
+            bySpeciesAndStatus.computeIfAbsent(row.getSpecies(), s -> new EnumMap<>(AnimalStatus.class))
+                    .put(row.getStatus(), row.getCount());
+        }
+
+        StatsSummaryDto summary = new StatsSummaryDto();
+        summary.setTotal(total);
+        summary.setByStatus(byStatus);
+        summary.setBySpecies(bySpecies);
+        summary.setBySpeciesAndStatus(bySpeciesAndStatus);
+        return summary;
+    }
+
+    public long countByStatus(AnimalStatus status) {
+        Long count = getSummary().getByStatus().get(status);
+        return count != null ? count : 0;
+    }
+
+    // Animals reported per day (or per ISO week) in [from, to], by species and current status
+    public List<PeriodStatDto> getReportsOverTime(LocalDate from, LocalDate to, String species, boolean weekly) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        String speciesFilter = species != null ? normalizeSpecies(species) : null;
+
+        Map<PeriodKey, Long> counts = new TreeMap<>();
+        for (AnimalDailyStat row : dailyStatRepository.findBetween(from, to)) {
+            if (speciesFilter != null && !speciesFilter.equals(row.getSpecies())) {
+                continue;
+            }
+            LocalDate period = weekly ? row.getDay().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : row.getDay();
+            counts.merge(new PeriodKey(period, row.getSpecies(), row.getStatus()), row.getCount(), Long::sum);
+        }
+
+        List<PeriodStatDto> result = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> result.add(new PeriodStatDto(key.period, key.species, key.status, count)));
+        return result;
+    }
+
+    // Users who reported the most animals
+    public List<ReporterStatDto> getTopReporters(int limit) {
+        List<ReporterStat> top = reporterStatRepository.findTop(Limit.of(Math.max(1, Math.min(limit, MAX_TOP_REPORTERS))));
+        Map<Long, User> users = userRepository.findAllById(top.stream().map(ReporterStat::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<ReporterStatDto> result = new ArrayList<>(top.size());
+        for (ReporterStat stat : top) {
+            ReporterStatDto dto = new ReporterStatDto();
+            dto.setUserId(stat.getUserId());
+            User user = users.get(stat.getUserId());
+            dto.setUsername(user != null ? user.getUsername() : null);
+            dto.setReportedCount(stat.getReportedCount());
+            dto.setLastReportedAt(stat.getLastReportedAt());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // Build the rollups on first start with existing animals
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeRollups() {
+        if (statusTotalRepository.count() == 0 && animalRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${app.stats.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every rollup from animals and users, one short transaction
+     * per chunk of days or users. Each chunk share-locks the animal rows it
+     * reads, so a concurrent write to them either commits first (and is
+     * counted) or waits for the chunk (and applies its delta on top).
+     *
+     * @return false if a rebuild is already running
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            rebuildDaily();
+            transactionTemplate.executeWithoutResult(status -> rebuildTotals());
+            rebuildReporters();
+            logger.info("Statistics rollups rebuilt in {} ms", System.currentTimeMillis() - started);
+            return true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildDaily() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime earliestAnimal = animalRepository.findEarliestCreatedAt();
+        LocalDate earliestRollup = dailyStatRepository.findEarliestDay();
+        LocalDate latestRollup = dailyStatRepository.findLatestDay();
+
+        // Also covers rollup days whose animals are all gone
+        LocalDate start = today;
+        if (earliestAnimal != null && earliestAnimal.toLocalDate().isBefore(start)) {
+            start = earliestAnimal.toLocalDate();
+        }
+        if (earliestRollup != null && earliestRollup.isBefore(start)) {
+            start = earliestRollup;
+        }
+        LocalDate end = (latestRollup != null && latestRollup.isAfter(today) ? latestRollup : today).plusDays(1);
+
+        for (LocalDate from = start; from.isBefore(end); from = from.plusDays(rebuildChunkDays)) {
+            LocalDate chunkFrom = from;
+            LocalDate chunkTo = from.plusDays(rebuildChunkDays).isBefore(end) ? from.plusDays(rebuildChunkDays) : end;
+            transactionTemplate.executeWithoutResult(status -> rebuildDays(chunkFrom, chunkTo));
+        }
+    }
+
+    private void rebuildDays(LocalDate from, LocalDate to) {
+        Map<PeriodKey, Long> counts = new HashMap<>();
+        for (AnimalRepository.StatsRow row : animalRepository.findStatsRowsForShare(from.atStartOfDay(), to.atStartOfDay())) {
+            if (row.getStatus() != null) {
+                counts.merge(new PeriodKey(row.getCreatedAt().toLocalDate(), normalizeSpecies(row.getSpecies()),
+                        row.getStatus()), 1L, Long::sum);
+            }
+        }
+
+        dailyStatRepository.deleteBetween(from, to);
+        List<AnimalDailyStat> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new AnimalDailyStat(key.period, key.species, key.status, count)));
+        dailyStatRepository.saveAll(rows);
+    }
+
+    // Totals are the sums of the daily rows; locking them first makes writers
+    // wait, so none of their deltas land between the sum and the replacement
+    private void rebuildTotals() {
+        statusTotalRepository.findAllForUpdate();
+        List<AnimalStatusTotal> totals = new ArrayList<>();
+        for (AnimalDailyStatRepository.SpeciesStatusCount row : dailyStatRepository.sumBySpeciesAndStatus()) {
+            if (row.getCount() != 0) {
+                totals.add(new AnimalStatusTotal(row.getSpecies(), row.getStatus(), row.getCount()));
+            }
+        }
+        statusTotalRepository.deleteAllInBatch();
+        statusTotalRepository.saveAll(totals);
+    }
+
+    private void rebuildReporters() {
+        Long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, Limit.of(rebuildChunkUsers));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = userIds;
+            transactionTemplate.executeWithoutResult(status -> rebuildReporters(chunk));
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == rebuildChunkUsers);
+    }
+
+    private void rebuildReporters(List<Long> userIds) {
+        Map<Long, ReporterStat> stats = new HashMap<>();
+        for (AnimalRepository.ReporterRow row : animalRepository.findReporterRowsForShare(userIds)) {
+            ReporterStat stat = stats.computeIfAbsent(row.getReporterId(), id -> new ReporterStat(id, 0, null));
+            stat.setReportedCount(stat.getReportedCount() + 1);
+            if (stat.getLastReportedAt() == null || stat.getLastReportedAt().isBefore(row.getCreatedAt())) {
+                stat.setLastReportedAt(row.getCreatedAt());
+            }
+        }
+
+        reporterStatRepository.deleteByUserIdIn(userIds);
+        reporterStatRepository.saveAll(stats.values());
+    }
+
+    private static final class Delta implements Comparable<Delta> {
+        final String species;
+        final AnimalStatus status;
+        final long amount;
+
+        Delta(String species, AnimalStatus status, long amount) {
+            this.species = species;
+            this.status = status;
+            this.amount = amount;
+        }
+
+        @Override
+        public int compareTo(Delta other) {
+            int bySpecies = species.compareTo(other.species);
+            return bySpecies != 0 ? bySpecies : status.compareTo(other.status);
+        }
+    }
+
+    private static final class PeriodKey implements Comparable<PeriodKey> {
+        final LocalDate period;
+        final String species;
+        final AnimalStatus status;
+
+        PeriodKey(LocalDate period, String species, AnimalStatus status) {
+            this.period = period;
+            this.species = species;
+            this.status = status;
+        }
+
+        @Override
+        public int compareTo(PeriodKey other) {
+            int byPeriod = period.compareTo(other.period);
+            if (byPeriod != 0) {
+                return byPeriod;
+            }
+            int bySpecies = species.compareTo(other.species);
+            return bySpecies != 0 ? bySpecies : status.compareTo(other.status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PeriodKey)) return false;
+            PeriodKey other = (PeriodKey) o;
+            return period.equals(other.period) && species.equals(other.species) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(period, species, status);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.geo.GeoGrid;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.repository.AnimalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds animals a new report probably describes again: same species, seen
+ * close by within the last weeks, ranked by distance and by the words the
+ * descriptions share. Lets the client offer "add a sighting" instead of
+ * creating one more row for the same dog.
+ *
+ * Candidates come from idx_animals_duplicate_lookup (species, geo_cell,
+ * latitude, longitude, last_seen_at), so only rows inside the search box are
+ * read, whatever the size of the table.
+ */
+@Component
+public class DuplicateReportDetector {
+
+    // Being close matters more than wording; two people rarely describe a dog alike
+    private static final double DISTANCE_WEIGHT = 0.6;
+    private static final double TEXT_WEIGHT = 0.4;
+    private static final double MAX_RADIUS_KM = 5.0;
+    private static final int MAX_CELLS = 64;
+    private static final int MIN_WORD_LENGTH = 3;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Value("${app.duplicates.radius-km:1.0}")
+    private double radiusKm;
+
+    @Value("${app.duplicates.window-days:30}")
+    private int windowDays;
+
+    @Value("${app.duplicates.max-candidates:5}")
+    private int maxCandidates;
+
+    @Value("${app.duplicates.min-score:0.2}")
+    private double minScore;
+
+    /**
+     * Likely duplicates of the described report, best match first.
+     */
+    public List<Candidate> findCandidates(String species, double latitude, double longitude,
+                                          String description, String locationDescription) {
+        if (species == null || species.isBlank()) {
+            return new ArrayList<>();
+        }
+        double radius = Math.min(radiusKm, MAX_RADIUS_KM);
+        GeoGrid.BoundingBox box = GeoGrid.boundingBox(latitude, longitude, radius);
+        List<Long> cells = GeoGrid.cellsCovering(box, MAX_CELLS);
+        if (cells == null) {
+            return new ArrayList<>();
+        }
+
+        List<Animal> rows = animalRepository.findDuplicateCandidates(species.trim(), cells,
+                BigDecimal.valueOf(box.getMinLat()), BigDecimal.valueOf(box.getMaxLat()),
+                BigDecimal.valueOf(box.getMinLng()), BigDecimal.valueOf(box.getMaxLng()),
+                LocalDateTime.now().minusDays(windowDays), terminalStatuses());
+
+        Set<String> reportWords = words(description, locationDescription);
+        List<Candidate> candidates = new ArrayList<>();
+        for (Animal animal : rows) {
+            double distance = GeoGrid.distanceKm(latitude, longitude,
+                    animal.getLatitude().doubleValue(), animal.getLongitude().doubleValue());
+            if (distance > radius) {
+                continue;
+            }
+            double similarity = jaccard(reportWords, words(animal.getDescription(), animal.getLocationDescription()));
+            double score = DISTANCE_WEIGHT * (1.0 - distance / radius) + TEXT_WEIGHT * similarity;
+            if (score >= minScore) {
+                candidates.add(new Candidate(animal, distance, similarity, score));
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::getScore).reversed());
+        return candidates.size() > maxCandidates ? new ArrayList<>(candidates.subList(0, maxCandidates)) : candidates;
+    }
+
+    // Lower-cased words long enough to carry meaning ("black", "collar", "park")
+    static Set<String> words(String... texts) {
+        Set<String> words = new HashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= MIN_WORD_LENGTH) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for (String word : smaller) {
+            if (larger.contains(word)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static EnumSet<AnimalStatus> terminalStatuses() {
+        EnumSet<AnimalStatus> terminal = EnumSet.noneOf(AnimalStatus.class);
+        for (AnimalStatus status : AnimalStatus.values()) {
+            if (status.isTerminal()) {
+                terminal.add(status);
+            }
+        }
+        return terminal;
+    }
+
+    public static final class Candidate {
+        private final Animal animal;
+        private final double distanceKm;
+        private final double textSimilarity;
+        private final double score;
+
+        Candidate(Animal animal, double distanceKm, double textSimilarity, double score) {
+            this.animal = animal;
+            this.distanceKm = distanceKm;
+            this.textSimilarity = textSimilarity;
+            this.score = score;
+        }
+
+        public Animal getAnimal() { return animal; }
+        public double getDistanceKm() { return distanceKm; }
+        public double getTextSimilarity() { return textSimilarity; }
+        public double getScore() { return score; }
+    }
+}
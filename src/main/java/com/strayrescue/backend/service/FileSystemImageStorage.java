@@ -0,0 +1,68 @@
+package com.strayrescue.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Stores image variants under a local directory, keyed by the same paths the
+ * S3 store uses. Stands in for S3 where there is no bucket to talk to.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "filesystem")
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemImageStorage.class);
+
+    @Value("${app.images.local-dir:${java.io.tmpdir}/strayrescue-images}")
+    private String localDir;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(localDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        logger.info("Storing images under {}", root);
+    }
+
+    @Override
+    public void put(String key, byte[] data, int length, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            out.write(data, 0, length);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            logger.warn("Could not delete stored image {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public String urlFor(String key) {
+        return resolve(key).toUri().toString();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Image key escapes the storage directory: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,103 @@
+package com.strayrescue.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for image decode/resize/encode/upload work.
+ *
+ * The queue has a fixed capacity; when it is full new uploads are rejected
+ * with ImageQueueFullException instead of piling up in memory.
+ *
+ * With spring.threads.virtual.enabled (Java 21+) the workers are virtual
+ * threads, so a worker blocked on a storage upload releases its carrier.
+ * worker-threads still bounds how many images are decoded at once.
+ */
+@Component
+public class ImageProcessingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingExecutor.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.images.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.images.queue-capacity:50}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Timer processingTimer;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), workerThreadFactory(environment), new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("images.queue.depth", executor, e -> e.getQueue().size())
+                .description("Images waiting for a processing worker")
+                .register(meterRegistry);
+        Gauge.builder("images.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Image processing workers currently busy")
+                .register(meterRegistry);
+        processingTimer = Timer.builder("images.processing.time")
+                .description("Time to process and upload one image")
+                .register(meterRegistry);
+    }
+
+    // Whether `tasks` more images fit in the queue right now (best effort)
+    public boolean hasCapacity(int tasks) {
+        return executor.getQueue().remainingCapacity() >= tasks;
+    }
+
+    public void submit(Runnable task) {
+        try {
+            executor.execute(() -> processingTimer.record(task));
+        } catch (RejectedExecutionException e) {
+            throw new ImageQueueFullException("Image processing queue is full, please retry shortly");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Image processing did not finish in time, {} images left in queue", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("image-worker-").getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "image-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.model.ImageVariant;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns an uploaded image into JPEG-encoded variants of every ImageVariant size.
+ *
+ * Memory per image is bounded: images whose full-size raster would exceed
+ * app.images.max-decoded-bytes are rejected from their header dimensions
+ * before any pixel is read (a small file can declare a huge image), the rest
+ * are decoded with subsampling so the raster is never much larger than the
+ * biggest variant, and
+ * variants are encoded one at a time into a per-thread reusable buffer that
+ * the caller consumes before the next variant is written.
+ *
+ * Variants are produced largest first, each downscaled from the previous one
+ * in steps of at most 2x, which keeps bilinear scaling sharp without going
+ * back to the full-size source for every size.
+ */
+@Component
+public class ImageProcessor {
+
+    // Assume 4 bytes per pixel when estimating decoded size
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+    // Buffers that grew past this are not kept for the next image
+    private static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private static final ThreadLocal<EncodeBuffer> ENCODE_BUFFERS =
+            ThreadLocal.withInitial(() -> new EncodeBuffer(INITIAL_BUFFER_SIZE));
+
+    @Value("${app.images.max-decoded-bytes:268435456}")
+    private long maxDecodedBytes = 256L * 1024 * 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer decodeTimer;
+    private Timer resizeTimer;
+    private Timer encodeTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        decodeTimer = stageTimer("decode");
+        resizeTimer = stageTimer("resize");
+        encodeTimer = stageTimer("encode");
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("images.stage.time")
+                .description("Time spent in one image processing stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Receives each encoded variant. The data array is only valid during the
+     * call; it is reused for the next variant.
+     */
+    public interface VariantSink {
+        void accept(ImageVariant variant, byte[] data, int length) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Decode the image, skipping source pixels so the result is still at
+     * least as large as the biggest variant.
+     */
+    public BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                throw new IOException("Cannot read image");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Only the header has been read so far
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height * BYTES_PER_PIXEL > maxDecodedBytes) {
+                    throw new IOException("Image is too large to process (" + width + "x" + height + ")");
+                }
+
+                int subsampling = Math.max(1, Math.max(width, height) / ImageVariant.LARGE.getMaxSize());
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                long start = System.nanoTime();
+                BufferedImage decoded = reader.read(0, param);
+                decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return decoded;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public void writeVariants(BufferedImage image, VariantSink sink) throws IOException, InterruptedException {
+        EncodeBuffer buffer = ENCODE_BUFFERS.get();
+        try {
+            BufferedImage current = image;
+            ImageVariant[] sizes = ImageVariant.values();
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                long start = System.nanoTime();
+                current = scaleDown(current, sizes[i].getMaxSize());
+                resizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                start = System.nanoTime();
+                buffer.reset();
+                ImageIO.write(current, "jpg", buffer);
+                encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                sink.accept(sizes[i], buffer.array(), buffer.size());
+            }
+        } finally {
+            if (buffer.array().length > MAX_RETAINED_BUFFER_SIZE) {
+                ENCODE_BUFFERS.remove();
+            }
+        }
+    }
+
+    // Resize so the longer side is at most maxSize, halving while more than 2x too large
+    BufferedImage scaleDown(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight
+                || current.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    // 3-byte BGR is what the JPEG writer consumes directly; INT_RGB would be
+    // converted into a temporary copy on every encode
+    private BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage resizedImage = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g2d = resizedImage.createGraphics();
+
+        // Improve image quality
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return resizedImage;
+    }
+
+    // ByteArrayOutputStream that hands out its backing array instead of copying it
+    private static final class EncodeBuffer extends ByteArrayOutputStream {
+        EncodeBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.strayrescue.backend.service;
+
+/**
+ * Thrown when the image processing queue cannot take more uploads.
+ */
+public class ImageQueueFullException extends RuntimeException {
+
+    public ImageQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.strayrescue.backend.service;
+
+import java.io.IOException;
+
+/**
+ * Where processed image variants are stored. S3 by default; a local directory
+ * when app.images.storage=filesystem (load tests, local development).
+ */
+public interface ImageStorage {
+
+    /**
+     * Store data[0..length) under key, replacing any existing object.
+     */
+    void put(String key, byte[] data, int length, String contentType) throws IOException, InterruptedException;
+
+    void delete(String key);
+
+    /**
+     * Public URL clients use to fetch the object stored under key.
+     */
+    String urlFor(String key);
+}
@@ -1,32 +1,48 @@
 package com.strayrescue.backend.service;
 
+import com.strayrescue.backend.event.AnimalImagesChangedEvent;
 import com.strayrescue.backend.model.Animal;
 import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.ImageVariant;
 import com.strayrescue.backend.model.User;
 import com.strayrescue.backend.repository.AnimalImageRepository;
 import com.strayrescue.backend.repository.AnimalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-
-import javax.imageio.ImageIO;
-import java.awt.*;
+
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.Arrays;
+import java.util.stream.Stream;
 
 @Service
 public class ImageUploadService {
@@ -37,140 +53,264 @@ public class ImageUploadService {
     @Autowired
     private AnimalRepository animalRepository;
 
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
-    
-    @Value("${aws.s3.region:eu-north-1}")
-    private String region;
-    
-    @Value("${aws.access-key-id:}")
-    private String accessKeyId;
-    
-    @Value("${aws.secret-access-key:}")
-    private String secretAccessKey;
+    @Autowired
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @Autowired
+    private ImageProcessor imageProcessor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.images.staging-dir:${java.io.tmpdir}/strayrescue-staging}")
+    private String stagingDir;
 
-    // Image size configurations
-    private static final int LARGE_SIZE = 1200;
+    @Value("${app.images.recover-after-minutes:10}")
+    private long recoverAfterMinutes;
+
+    // Nothing uploaded before this instance started can be in its queue
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
+
+    private static final String PROCESSED_CONTENT_TYPE = "image/jpeg";
     private static final int MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final List<String> ALLOWED_TYPES = Arrays.asList("image/jpeg", "image/png", "image/jpg");
 
-    private S3Client getS3Client() {
-        // Use default credential chain if no explicit credentials provided
-        // This will check: environment variables, IAM roles, credential files, etc.
-        if (accessKeyId != null && secretAccessKey != null && 
-            !accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
-            
-            AwsBasicCredentials awsCreds = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(awsCreds))
-                    .build();
-        } else {
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(DefaultCredentialsProvider.create())
-                    .build();
-        }
-    }
-
     /**
-     * Upload multiple images for an animal
+     * Accept multiple images for an animal. Returns the pending image rows;
+     * processing and upload happen in the background.
      */
     public List<AnimalImage> uploadImagesForAnimal(Long animalId, MultipartFile[] files, User uploadedBy) {
         // Validate animal exists
         Animal animal = animalRepository.findById(animalId)
                 .orElseThrow(() -> new RuntimeException("Animal not found with id: " + animalId));
 
+        Arrays.stream(files).forEach(this::validateFile);
+        if (!imageProcessingExecutor.hasCapacity(files.length)) {
+            throw new ImageQueueFullException("Image processing queue is full, please retry shortly");
+        }
+
         return Arrays.stream(files)
                 .map(file -> uploadSingleImage(animal, file, uploadedBy))
                 .toList();
     }
 
     /**
-     * Upload a single image with processing
+     * Accept a single image: stage it on disk, record a PENDING row and queue
+     * the processing. The row becomes READY (or FAILED) once a worker is done.
+     * Content already processed for another row is referenced instead, and
+     * the row is READY right away.
      */
     public AnimalImage uploadSingleImage(Animal animal, MultipartFile file, User uploadedBy) {
+        // Validate file
+        validateFile(file);
+        
+        // Generate unique base key; each size is stored under its own key
+        String originalFileName = file.getOriginalFilename();
+        String baseKey = "animals/" + animal.getId() + "/" + UUID.randomUUID();
+
+        // The multipart temp file is gone after the request, keep our own copy,
+        // hashing the bytes on the way
+        Path stagedFile;
+        String contentHash;
         try {
-            // Validate file
-            validateFile(file);
-            
-            // Generate unique filename
-            String originalFileName = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFileName);
-            String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-            
-            // Process and resize image
-            BufferedImage originalImage = ImageIO.read(file.getInputStream());
-            byte[] processedImageData = processImage(originalImage, LARGE_SIZE);
-            
-            // Upload to S3
-            String s3Key = "animals/" + animal.getId() + "/" + uniqueFileName;
-            String s3Url = uploadToS3(s3Key, processedImageData, file.getContentType());
-            
-            // Create and save AnimalImage record
-            AnimalImage animalImage = new AnimalImage();
-            animalImage.setFileName(originalFileName);
-            animalImage.setS3Key(s3Key);
-            animalImage.setS3Url(s3Url);
-            animalImage.setFileSize((long) processedImageData.length);
-            animalImage.setContentType(file.getContentType());
-            animalImage.setAnimal(animal);
-            animalImage.setUploadedBy(uploadedBy);
-            
-            // Set as primary if this is the first image
-            long imageCount = animalImageRepository.countByAnimalId(animal.getId());
-            animalImage.setIsPrimary(imageCount == 0);
-            animalImage.setDisplayOrder((int) imageCount);
-            
-            return animalImageRepository.save(animalImage);
-            
+            Files.createDirectories(Paths.get(stagingDir));
+            stagedFile = Files.createTempFile(Paths.get(stagingDir), "upload-", getFileExtension(originalFileName));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, stagedFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            contentHash = HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to store image: " + e.getMessage(), e);
+        }
+        
+        // Create and save AnimalImage record
+        AnimalImage animalImage = new AnimalImage();
+        animalImage.setFileName(originalFileName);
+        animalImage.setS3Key(ImageVariant.LARGE.keyFor(baseKey));
+        animalImage.setS3Url(imageStorage.urlFor(animalImage.getS3Key()));
+        animalImage.setMediumS3Key(ImageVariant.MEDIUM.keyFor(baseKey));
+        animalImage.setMediumUrl(imageStorage.urlFor(animalImage.getMediumS3Key()));
+        animalImage.setThumbnailS3Key(ImageVariant.THUMBNAIL.keyFor(baseKey));
+        animalImage.setThumbnailUrl(imageStorage.urlFor(animalImage.getThumbnailS3Key()));
+        animalImage.setContentType(PROCESSED_CONTENT_TYPE);
+        animalImage.setContentHash(contentHash);
+        animalImage.setStatus(ImageStatus.PENDING);
+        animalImage.setAnimal(animal);
+        animalImage.setUploadedBy(uploadedBy);
+        
+        // Display order and the primary flag are decided under the animal's row lock
+        AnimalImage saved = transactionTemplate.execute(status -> {
+            Animal locked = animalRepository.findByIdForUpdate(animal.getId())
+                    .orElseThrow(() -> new RuntimeException("Animal not found with id: " + animal.getId()));
+            animalImageRepository.findFirstByContentHashAndStatusOrderByIdAsc(contentHash, ImageStatus.READY)
+                    .ifPresent(existing -> reuseStoredObjects(animalImage, existing));
+            // The first image is primary once it is READY: right away for reused
+            // content, otherwise when its processing succeeds
+            animalImage.setIsPrimary(locked.getPrimaryImageId() == null && animalImage.getStatus() == ImageStatus.READY);
+            animalImage.setDisplayOrder((int) animalImageRepository.countByAnimalId(locked.getId()));
+            AnimalImage inserted = animalImageRepository.save(animalImage);
+            if (inserted.getIsPrimary()) {
+                animalRepository.updatePrimaryImageId(locked.getId(), inserted.getId());
+            }
+            return inserted;
+        });
+        if (saved.getStatus() == ImageStatus.READY) {
+            deleteStagedFile(stagedFile);
+            eventPublisher.publishEvent(new AnimalImagesChangedEvent(animal.getId()));
+            return saved;
+        }
+        Path queuedFile = nameAfterImage(stagedFile, saved.getId());
+        try {
+            imageProcessingExecutor.submit(() -> processPendingImage(saved.getId(), queuedFile));
+        } catch (ImageQueueFullException e) {
+            transactionTemplate.executeWithoutResult(status -> removeImage(saved));
+            deleteStagedFile(queuedFile);
+            throw e;
+        } finally {
+            eventPublisher.publishEvent(new AnimalImagesChangedEvent(animal.getId()));
+        }
+        return saved;
+    }
+
+    /**
+     * Worker side of an upload: decode, resize, encode and store.
+     */
+    public void processPendingImage(Long imageId, Path stagedFile) {
+        try {
+            Optional<AnimalImage> pending = animalImageRepository.findById(imageId);
+            if (pending.isEmpty()) {
+                return; // Deleted while queued
+            }
+            AnimalImage image = pending.get();
+            animalImageRepository.updateProcessingResult(imageId, ImageStatus.PROCESSING, null, null);
+
+            try {
+                // One decode, all sizes; each variant is uploaded straight from the encode buffer
+                AnimalImage target = image;
+                BufferedImage decoded = imageProcessor.decode(stagedFile);
+                imageProcessor.writeVariants(decoded, (variant, data, length) -> {
+                    imageStorage.put(keyOf(target, variant), data, length, PROCESSED_CONTENT_TYPE);
+                    if (variant == ImageVariant.LARGE) {
+                        target.setFileSize((long) length);
+                    }
+                });
+
+                image.setStatus(ImageStatus.READY);
+                image.setFailureReason(null);
+            } catch (Exception e) {
+                logger.warn("Processing image {} failed: {}", imageId, e.getMessage());
+                image.setStatus(ImageStatus.FAILED);
+                image.setFailureReason(truncate(e.getMessage()));
+            }
+
+            Long animalId = image.getAnimal().getId();
+            if (recordProcessingResult(animalId, imageId, image.getStatus(), image.getFileSize(), image.getFailureReason())) {
+                eventPublisher.publishEvent(new AnimalImagesChangedEvent(animalId));
+            } else if (image.getStatus() == ImageStatus.READY) {
+                deleteAllVariants(image); // Deleted while processing
+            }
+        } finally {
+            deleteStagedFile(stagedFile);
+        }
+    }
+
+    /**
+     * Images a previous run left PENDING or PROCESSING: re-queued when their
+     * staged file survived, otherwise marked FAILED once they are older than
+     * recover-after-minutes (younger ones may belong to another instance).
+     * Staged files from before startup that no image waits for are deleted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingImages() {
+        LocalDateTime failBefore = LocalDateTime.now().minusMinutes(recoverAfterMinutes);
+        Set<Path> requeued = new HashSet<>();
+        for (AnimalImage image : animalImageRepository.findByStatusInAndUploadedAtBefore(
+                List.of(ImageStatus.PENDING, ImageStatus.PROCESSING), startedAt)) {
+            Long imageId = image.getId();
+            Path stagedFile = stagedFileFor(imageId);
+            if (Files.exists(stagedFile)) {
+                try {
+                    imageProcessingExecutor.submit(() -> processPendingImage(imageId, stagedFile));
+                    requeued.add(stagedFile);
+                    continue;
+                } catch (ImageQueueFullException e) {
+                    logger.warn("No queue capacity to re-process image {}", imageId);
+                }
+            } else if (!image.getUploadedAt().isBefore(failBefore)) {
+                continue;
+            }
+            if (recordProcessingResult(image.getAnimal().getId(), imageId, ImageStatus.FAILED, null,
+                    "Processing was interrupted, please upload the image again")) {
+                eventPublisher.publishEvent(new AnimalImagesChangedEvent(image.getAnimal().getId()));
+            }
+        }
+        if (!requeued.isEmpty()) {
+            logger.info("Re-queued {} images interrupted by a restart", requeued.size());
+        }
+
+        long startedAtMillis = startedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (Stream<Path> files = Files.list(Paths.get(stagingDir))) {
+            files.filter(file -> !requeued.contains(file) && modifiedBefore(file, startedAtMillis))
+                    .forEach(ImageUploadService::deleteStagedFile);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to process image: " + e.getMessage(), e);
+            logger.debug("No staged images to clean up: {}", e.getMessage());
         }
     }
 
     /**
-     * Set primary image for an animal
+     * Get an image with its processing status
      */
+    public Optional<AnimalImage> getImage(Long imageId) {
+        return animalImageRepository.findById(imageId);
+    }
+
+    /**
+     * Set primary image for an animal. The flags are switched by one UPDATE
+     * however many images the animal has; the animal row lock orders
+     * concurrent image edits.
+     */
+    @Transactional
     public AnimalImage setPrimaryImage(Long animalId, Long imageId) {
-        // Reset all images for this animal to non-primary
-        List<AnimalImage> animalImages = animalImageRepository.findByAnimalIdOrderByDisplayOrderAsc(animalId);
-        animalImages.forEach(img -> img.setIsPrimary(false));
-        animalImageRepository.saveAll(animalImages);
-        
-        // Set the specified image as primary
+        animalRepository.findByIdForUpdate(animalId)
+                .orElseThrow(() -> new RuntimeException("Animal not found with id: " + animalId));
+        if (!animalImageRepository.existsByIdAndAnimalIdAndStatus(imageId, animalId, ImageStatus.READY)) {
+            throw new RuntimeException("Image not found or not processed yet");
+        }
+
+        animalImageRepository.updatePrimary(animalId, imageId);
+        animalRepository.updatePrimaryImageId(animalId, imageId);
+
         AnimalImage primaryImage = animalImageRepository.findById(imageId)
                 .orElseThrow(() -> new RuntimeException("Image not found"));
-        primaryImage.setIsPrimary(true);
-        
-        return animalImageRepository.save(primaryImage);
+        eventPublisher.publishEvent(new AnimalImagesChangedEvent(animalId));
+        return primaryImage;
     }
 
     /**
-     * Delete an image
+     * Delete an image; if it was the primary, the first remaining image in
+     * display order takes its place. Stored variants no other image uses are
+     * deleted once the transaction has committed.
      */
+    @Transactional
     public void deleteImage(Long imageId) {
         AnimalImage image = animalImageRepository.findById(imageId)
                 .orElseThrow(() -> new RuntimeException("Image not found"));
-        
-        // Delete from S3
-        deleteFromS3(image.getS3Key());
-        
-        // Delete from database
-        animalImageRepository.delete(image);
-        
-        // If this was the primary image, set another one as primary
-        if (image.getIsPrimary()) {
-            Optional<AnimalImage> nextImage = animalImageRepository
-                    .findByAnimalIdOrderByDisplayOrderAsc(image.getAnimal().getId())
-                    .stream()
-                    .findFirst();
-            
-            nextImage.ifPresent(img -> {
-                img.setIsPrimary(true);
-                animalImageRepository.save(img);
-            });
+        removeImage(image);
+
+        // Delete the stored variants unless another image still references them
+        if (animalImageRepository.findReferencesForUpdate(image.getS3Key()).isEmpty()) {
+            deleteAllVariantsAfterCommit(image);
         }
+        eventPublisher.publishEvent(new AnimalImagesChangedEvent(image.getAnimal().getId()));
     }
 
     /**
@@ -203,6 +343,64 @@ public class ImageUploadService {
         }
     }
 
+    // Point the new row at the variants already stored for the same content
+    private void reuseStoredObjects(AnimalImage image, AnimalImage existing) {
+        image.setS3Key(existing.getS3Key());
+        image.setS3Url(existing.getS3Url());
+        image.setMediumS3Key(existing.getMediumS3Key());
+        image.setMediumUrl(existing.getMediumUrl());
+        image.setThumbnailS3Key(existing.getThumbnailS3Key());
+        image.setThumbnailUrl(existing.getThumbnailUrl());
+        image.setFileSize(existing.getFileSize());
+        image.setStatus(ImageStatus.READY);
+    }
+
+    // Delete the row and hand the primary flag on; runs in the caller's transaction
+    private void removeImage(AnimalImage image) {
+        Long animalId = image.getAnimal().getId();
+        Animal animal = animalRepository.findByIdForUpdate(animalId)
+                .orElseThrow(() -> new RuntimeException("Animal not found with id: " + animalId));
+
+        animalImageRepository.deleteById(image.getId());
+
+        if (image.getId().equals(animal.getPrimaryImageId()) || Boolean.TRUE.equals(image.getIsPrimary())) {
+            handPrimaryOn(animalId);
+        }
+    }
+
+    // Writes only the processing columns, so a primary switch made meanwhile
+    // is kept. Under the animal row lock, the first READY image becomes
+    // primary, and a FAILED one (made primary by an earlier version) hands
+    // the flag on. False when the image or its animal is gone.
+    private boolean recordProcessingResult(Long animalId, Long imageId, ImageStatus status,
+                                           Long fileSize, String failureReason) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            Optional<Animal> locked = animalRepository.findByIdForUpdate(animalId);
+            if (locked.isEmpty()
+                    || animalImageRepository.updateProcessingResult(imageId, status, fileSize, failureReason) == 0) {
+                return false;
+            }
+            Long primaryImageId = locked.get().getPrimaryImageId();
+            if (status == ImageStatus.READY && primaryImageId == null) {
+                animalImageRepository.updatePrimary(animalId, imageId);
+                animalRepository.updatePrimaryImageId(animalId, imageId);
+            } else if (status == ImageStatus.FAILED && imageId.equals(primaryImageId)) {
+                handPrimaryOn(animalId);
+            }
+            return true;
+        }));
+    }
+
+    // The first READY image in display order becomes primary, or none
+    private void handPrimaryOn(Long animalId) {
+        Long nextId = animalImageRepository.findIdsByAnimalIdAndStatusInDisplayOrder(animalId, ImageStatus.READY, Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElse(null);
+        animalImageRepository.updatePrimary(animalId, nextId);
+        animalRepository.updatePrimaryImageId(animalId, nextId);
+    }
+
     private String getFileExtension(String fileName) {
         if (fileName == null || !fileName.contains(".")) {
             return ".jpg"; // Default extension
@@ -210,64 +408,81 @@ public class ImageUploadService {
         return fileName.substring(fileName.lastIndexOf("."));
     }
 
-    private byte[] processImage(BufferedImage originalImage, int maxSize) throws IOException {
-        // Calculate new dimensions while maintaining aspect ratio
-        int originalWidth = originalImage.getWidth();
-        int originalHeight = originalImage.getHeight();
-        
-        double aspectRatio = (double) originalWidth / originalHeight;
-        int newWidth, newHeight;
-        
-        if (originalWidth > originalHeight) {
-            newWidth = Math.min(maxSize, originalWidth);
-            newHeight = (int) (newWidth / aspectRatio);
-        } else {
-            newHeight = Math.min(maxSize, originalHeight);
-            newWidth = (int) (newHeight * aspectRatio);
+    private static String keyOf(AnimalImage image, ImageVariant variant) {
+        switch (variant) {
+            case THUMBNAIL:
+                return image.getThumbnailS3Key();
+            case MEDIUM:
+                return image.getMediumS3Key();
+            default:
+                return image.getS3Key();
         }
-        
-        // Create resized image
-        BufferedImage resizedImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = resizedImage.createGraphics();
-        
-        // Improve image quality
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        g2d.drawImage(originalImage, 0, 0, newWidth, newHeight, null);
-        g2d.dispose();
-        
-        // Convert to byte array
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(resizedImage, "jpg", baos);
-        return baos.toByteArray();
     }
 
-    private String uploadToS3(String key, byte[] data, String contentType) {
-        S3Client s3Client = getS3Client();
-        
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucketName)
-                .key(key)
-                .contentType(contentType)
-                .contentLength((long) data.length)
-                .build();
-        
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(data));
-        
-        // Return the S3 URL
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    private void deleteAllVariants(AnimalImage image) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            String key = keyOf(image, variant);
+            if (key != null) {
+                imageStorage.delete(key);
+            }
+        }
     }
 
-    private void deleteFromS3(String key) {
-        S3Client s3Client = getS3Client();
-        
-        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                .bucket(bucketName)
-                .key(key)
-                .build();
-        
-        s3Client.deleteObject(deleteObjectRequest);
+    // Storage deletes cannot be rolled back, and must not hold the row locks
+    // while they wait on S3. A failure only leaves unreferenced objects behind.
+    private void deleteAllVariantsAfterCommit(AnimalImage image) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteAllVariants(image);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    deleteAllVariants(image);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not delete stored variants of image {}: {}", image.getId(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Staged file of a queued image, found again by id after a restart
+    Path stagedFileFor(Long imageId) {
+        return Paths.get(stagingDir, imageId + ".upload");
+    }
+
+    // Keeps the original name if the rename fails; processing works either way,
+    // only recovery after a restart needs the id in the name
+    private Path nameAfterImage(Path stagedFile, Long imageId) {
+        try {
+            return Files.move(stagedFile, stagedFileFor(imageId), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not rename staged image {}: {}", stagedFile, e.getMessage());
+            return stagedFile;
+        }
+    }
+
+    private static boolean modifiedBefore(Path file, long epochMillis) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < epochMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteStagedFile(Path stagedFile) {
+        try {
+            Files.deleteIfExists(stagedFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged image {}: {}", stagedFile, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
     }
-}
\ No newline at end of file
+}
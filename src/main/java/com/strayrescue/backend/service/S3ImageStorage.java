@@ -0,0 +1,142 @@
+package com.strayrescue.backend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stores image variants in the configured S3 bucket, retrying transient failures.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "s3", matchIfMissing = true)
+public class S3ImageStorage implements ImageStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3ImageStorage.class);
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long INITIAL_RETRY_BACKOFF_MS = 250;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary uploadedBytes;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Value("${aws.s3.region:eu-north-1}")
+    private String region;
+
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @PostConstruct
+    public void registerMetrics() {
+        uploadedBytes = DistributionSummary.builder("s3.put.bytes")
+                .description("Size of objects uploaded to S3")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void put(String key, byte[] data, int length, String contentType) throws InterruptedException {
+        withRetries(key, () -> uploadToS3(key, data, length, contentType));
+    }
+
+    @Override
+    public void delete(String key) {
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        try {
+            withRetries(key, () -> timeS3("delete", () -> s3Client.deleteObject(deleteObjectRequest)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while deleting " + key, e);
+        }
+    }
+
+    @Override
+    public String urlFor(String key) {
+        if (endpoint != null && !endpoint.isEmpty()) {
+            return String.format("%s/%s/%s", endpoint, bucketName, key);
+        }
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    }
+
+    // Retries transient S3 failures with exponential backoff. The client has
+    // SDK retries turned off (see S3Config), so these are the only retries.
+    private void withRetries(String key, Runnable call) throws InterruptedException {
+        long backoffMs = INITIAL_RETRY_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                call.run();
+                return;
+            } catch (SdkException e) {
+                if (attempt >= MAX_ATTEMPTS || !isRetryable(e)) {
+                    throw e;
+                }
+                logger.debug("S3 request for {} failed (attempt {}), retrying in {}ms", key, attempt, backoffMs);
+                Thread.sleep(backoffMs + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1));
+                backoffMs *= 2;
+            }
+        }
+    }
+
+    private static boolean isRetryable(SdkException e) {
+        if (e instanceof AwsServiceException) {
+            AwsServiceException serviceException = (AwsServiceException) e;
+            int status = serviceException.statusCode();
+            return status >= 500 || status == 429 || serviceException.isThrottlingException();
+        }
+        return true; // Client side: connection resets, timeouts
+    }
+
+    // Streams data[0..length) without copying it into a request-sized array
+    private void uploadToS3(String key, byte[] data, int length, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength((long) length)
+                .build();
+
+        timeS3("put", () -> s3Client.putObject(putObjectRequest,
+                RequestBody.fromContentProvider(() -> new ByteArrayInputStream(data, 0, length), length, contentType)));
+        uploadedBytes.record(length);
+    }
+
+    // Records s3.requests{operation, outcome}, one sample per attempt: withRetries
+    // calls this again for each retry and the SDK does not retry on its own
+    private void timeS3(String operation, Runnable call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            call.run();
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("s3.requests", "operation", operation, "outcome", outcome));
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.strayrescue.backend.service;
 
+import com.strayrescue.backend.event.UserChangedEvent;
 import com.strayrescue.backend.model.User;
 import com.strayrescue.backend.model.UserRole;
 import com.strayrescue.backend.repository.UserRepository;
+import com.strayrescue.backend.security.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +22,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Register a new user
     public User registerUser(String username, String email, String password, 
                            String firstName, String lastName, String phoneNumber) {
@@ -35,7 +44,7 @@ public class UserService {
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHashingExecutor.submit(() -> passwordEncoder.encode(password)).join());
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setPhoneNumber(phoneNumber);
@@ -73,16 +82,33 @@ public class UserService {
         user.setLastName(lastName);
         user.setPhoneNumber(phoneNumber);
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername()));
+        return saved;
+    }
+
+    // Change a user's role
+    public User updateUserRole(Long id, UserRole role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        user.setRole(role);
+
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername()));
+        return saved;
     }
 
     // Delete user
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+        });
     }
 
     // Verify password
     public boolean verifyPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPasswordHash());
+        return passwordHashingExecutor.submit(() -> passwordEncoder.matches(rawPassword, user.getPasswordHash())).join();
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.strayrescue.backend.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds JDBC statement execution time to the current request trace.
+ * Registered through hibernate.session.events.auto, one instance per session.
+ */
+public class JdbcTimingListener extends BaseSessionEventListener {
+
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        if (Tracing.isActive()) {
+            statementStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        if (statementStart != 0) {
+            Tracing.recordStatement(System.nanoTime() - statementStart);
+            statementStart = 0;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
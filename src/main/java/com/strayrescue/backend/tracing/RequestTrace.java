@@ -0,0 +1,77 @@
+package com.strayrescue.backend.tracing;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Timings of one sampled request. Filled in by the request thread, then
+ * handed to TraceRecorder and never modified again.
+ *
+ * Stages may nest (a mapper calling another mapper); only the outermost
+ * begin/end pair of a stage is counted.
+ */
+public class RequestTrace {
+
+    private static final int STAGES = Stage.values().length;
+
+    private final String method;
+    private final long startedAtMillis;
+    private final long startNanos;
+    private final long[] stageNanos = new long[STAGES];
+    private final long[] stageStart = new long[STAGES];
+    private final int[] depth = new int[STAGES];
+    private int statements;
+    private String path;
+    private int status;
+    private long totalNanos;
+
+    RequestTrace(String method, String path) {
+        this.method = method;
+        this.path = path;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    void begin(Stage stage) {
+        int i = stage.ordinal();
+        if (depth[i]++ == 0) {
+            stageStart[i] = System.nanoTime();
+        }
+    }
+
+    void end(Stage stage) {
+        int i = stage.ordinal();
+        if (depth[i] > 0 && --depth[i] == 0) {
+            stageNanos[i] += System.nanoTime() - stageStart[i];
+        }
+    }
+
+    void addStatement(long nanos) {
+        stageNanos[Stage.DB.ordinal()] += nanos;
+        statements++;
+    }
+
+    void finish(String path, int status) {
+        if (path != null) {
+            this.path = path;
+        }
+        this.status = status;
+        this.totalNanos = System.nanoTime() - startNanos;
+    }
+
+    public String getMethod() { return method; }
+    public String getPath() { return path; }
+    public int getStatus() { return status; }
+    public Instant getStartedAt() { return Instant.ofEpochMilli(startedAtMillis); }
+    public long getTotalMicros() { return totalNanos / 1000; }
+    public int getStatements() { return statements; }
+
+    public Map<Stage, Long> getStageMicros() {
+        Map<Stage, Long> micros = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            micros.put(stage, stageNanos[stage.ordinal()] / 1000);
+        }
+        return micros;
+    }
+}
@@ -0,0 +1,11 @@
+package com.strayrescue.backend.tracing;
+
+/**
+ * Parts of a request that are timed separately in a RequestTrace.
+ */
+public enum Stage {
+    AUTH,
+    DB,
+    MAPPING,
+    SERIALIZATION
+}
@@ -0,0 +1,84 @@
+package com.strayrescue.backend.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Decides which requests are traced and keeps the most recent traces in a
+ * fixed-size lock-free ring buffer. Writers claim a slot with one atomic
+ * increment and overwrite whatever was there.
+ *
+ * Traces are read through the /actuator/traces endpoint and can also be
+ * written as JSON lines to the "request-traces" logger.
+ */
+@Component
+public class TraceRecorder {
+
+    private static final Logger traceLog = LoggerFactory.getLogger("request-traces");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${app.tracing.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${app.tracing.log-json:false}")
+    private boolean logJson;
+
+    private AtomicReferenceArray<RequestTrace> buffer;
+    private int mask;
+    private final AtomicLong written = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int capacity = Integer.highestOneBit(Math.max(1, bufferSize - 1)) << 1;
+        buffer = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    public boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void record(RequestTrace trace) {
+        long sequence = written.getAndIncrement();
+        buffer.set((int) (sequence & mask), trace);
+
+        if (logJson && traceLog.isInfoEnabled()) {
+            try {
+                traceLog.info(objectMapper.writeValueAsString(trace));
+            } catch (JsonProcessingException e) {
+                traceLog.warn("Could not serialize trace: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Most recent traces first; a negative limit (?limit=-1) returns nothing
+    public List<RequestTrace> recent(int limit) {
+        long end = written.get();
+        long start = Math.max(0, end - Math.min(Math.max(0, limit), buffer.length()));
+        List<RequestTrace> traces = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            RequestTrace trace = buffer.get((int) (sequence & mask));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+}
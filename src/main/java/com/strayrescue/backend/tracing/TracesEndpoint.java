@@ -0,0 +1,27 @@
+package com.strayrescue.backend.tracing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/traces: the most recent sampled request traces.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    @ReadOperation
+    public List<RequestTrace> traces(@Nullable Integer limit) {
+        return traceRecorder.recent(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
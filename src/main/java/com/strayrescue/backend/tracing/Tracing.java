@@ -0,0 +1,50 @@
+package com.strayrescue.backend.tracing;
+
+/**
+ * Static entry points for timing stages of the current request.
+ *
+ * When the request is not sampled there is no current trace and every call
+ * is a ThreadLocal read and a null check, with no allocation.
+ */
+public final class Tracing {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    public static void begin(Stage stage) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.begin(stage);
+        }
+    }
+
+    public static void end(Stage stage) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.end(stage);
+        }
+    }
+
+    static void recordStatement(long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.addStatement(nanos);
+        }
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void start(RequestTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    static RequestTrace stop() {
+        RequestTrace trace = CURRENT.get();
+        CURRENT.remove();
+        return trace;
+    }
+}
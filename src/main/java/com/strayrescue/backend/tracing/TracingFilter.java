@@ -0,0 +1,48 @@
+package com.strayrescue.backend.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Starts a RequestTrace for sampled requests, ahead of the security chain so
+ * authentication is included in the timing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!traceRecorder.shouldSample()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Tracing.start(new RequestTrace(request.getMethod(), request.getRequestURI()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace trace = Tracing.stop();
+            // Report the route template (/api/animals/{id}) rather than the raw URI when known
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            trace.finish(pattern instanceof String ? (String) pattern : null, response.getStatus());
+            traceRecorder.record(trace);
+        }
+    }
+}
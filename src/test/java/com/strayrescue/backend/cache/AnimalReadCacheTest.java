@@ -0,0 +1,206 @@
+package com.strayrescue.backend.cache;
+
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalSummaryDto;
+import com.strayrescue.backend.dto.response.CursorPage;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.event.AnimalImagesChangedEvent;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.service.AnimalCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes must evict exactly the cached reads they can change.
+ */
+class AnimalReadCacheTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger loads = new AtomicInteger();
+	private AnimalReadCache cache;
+
+	@BeforeEach
+	void createCache() {
+		cache = new AnimalReadCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+		ReflectionTestUtils.setField(cache, "detailsMaxSize", 100L);
+		ReflectionTestUtils.setField(cache, "pagesMaxSize", 100L);
+		ReflectionTestUtils.setField(cache, "nearMaxSize", 100L);
+		cache.start();
+	}
+
+	@Test
+	void statusChangeEvictsOnlyPagesHoldingOrGainingTheAnimal() {
+		// All animals, pages of two: [4, 3] then [2, 1]
+		AnimalReadCache.PageKey first = pageKey(null, AnimalCursor.START);
+		AnimalReadCache.PageKey second = pageKey(null, cursorAt(3));
+		AnimalReadCache.PageKey inCare = pageKey(AnimalStatus.IN_CARE, AnimalCursor.START);
+		AnimalReadCache.PageKey reported = pageKey(AnimalStatus.REPORTED, AnimalCursor.START);
+		loadPage(first, page(true, 4, 3));
+		loadPage(second, page(false, 2, 1));
+		loadPage(inCare, page(false, 4));
+		loadPage(reported, page(false, 3, 2, 1));
+		cache.getDetails(2L, () -> details(2L, 0, 0));
+
+		cache.onAnimalChanged(AnimalChangedEvent.statusChanged(animal(2, AnimalStatus.IN_CARE, 0, 0), AnimalStatus.REPORTED));
+
+		int before = loads.get();
+		loadPage(first, page(true, 4, 3));
+		assertEquals(before, loads.get(), "page without the animal stays cached");
+		loadPage(second, page(false, 2, 1));
+		loadPage(inCare, page(false, 4, 2));
+		loadPage(reported, page(false, 3, 1));
+		cache.getDetails(2L, () -> details(2L, 0, 0));
+		assertEquals(before + 4, loads.get());
+	}
+
+	@Test
+	void newAnimalEvictsOnlyTheFirstPage() {
+		AnimalReadCache.PageKey first = pageKey(null, AnimalCursor.START);
+		AnimalReadCache.PageKey second = pageKey(null, cursorAt(3));
+		loadPage(first, page(true, 4, 3));
+		loadPage(second, page(false, 2, 1));
+
+		cache.onAnimalChanged(AnimalChangedEvent.created(animal(5, AnimalStatus.REPORTED, 0, 0)));
+
+		int before = loads.get();
+		loadPage(second, page(false, 2, 1));
+		assertEquals(before, loads.get());
+		loadPage(first, page(true, 5, 4));
+		assertEquals(before + 1, loads.get());
+	}
+
+	@Test
+	void nearResultsAreEvictedByNearbyChangesOnly() {
+		AnimalReadCache.NearKey sofia = new AnimalReadCache.NearKey(42.70, 23.32, 10.0, null);
+		cache.getNear(sofia, () -> load(List.of(details(1L, 42.70, 23.32))));
+
+		cache.onAnimalChanged(AnimalChangedEvent.created(animal(7, AnimalStatus.REPORTED, 42.15, 24.75)));
+		cache.onAnimalChanged(AnimalChangedEvent.statusChanged(animal(8, AnimalStatus.ADOPTED, 42.70, 23.33), AnimalStatus.IN_CARE));
+		cache.onImagesChanged(new AnimalImagesChangedEvent(9L));
+		int before = loads.get();
+		cache.getNear(sofia, () -> load(List.of()));
+		assertEquals(before, loads.get());
+
+		cache.onAnimalChanged(AnimalChangedEvent.created(animal(10, AnimalStatus.REPORTED, 42.71, 23.33)));
+		cache.getNear(sofia, () -> load(List.of()));
+		assertEquals(before + 1, loads.get());
+	}
+
+	@Test
+	void nearbyQueriesShareAnEntry() {
+		AnimalReadCache.NearKey key = new AnimalReadCache.NearKey(42.69771, 23.32189, 5.0, null);
+		assertEquals(key, new AnimalReadCache.NearKey(42.69802, 23.32214, 5.0, null));
+		assertNotEquals(key, new AnimalReadCache.NearKey(42.69900, 23.32189, 5.0, null));
+		assertEquals(42.698, key.getLatitude(), 1e-9);
+
+		cache.getNear(key, () -> load(List.of()));
+		int before = loads.get();
+		cache.getNear(new AnimalReadCache.NearKey(42.69802, 23.32214, 5.0, null), () -> load(List.of()));
+		assertEquals(before, loads.get());
+	}
+
+	@Test
+	void evictedEntriesLeaveTheIndexes() {
+		AnimalReadCache.PageKey first = pageKey(null, AnimalCursor.START);
+		loadPage(first, page(true, 4, 3));
+		cache.getNear(new AnimalReadCache.NearKey(42.70, 23.32, 10.0, null), () -> load(List.of(details(1L, 42.70, 23.32))));
+		cache.getNear(new AnimalReadCache.NearKey(42.70, 23.32, null, 5), () -> load(List.of(details(1L, 42.70, 23.32))));
+		assertTrue(cache.indexedGroupCount() > 0);
+
+		cache.onAnimalChanged(AnimalChangedEvent.updated(animal(1, AnimalStatus.REPORTED, 42.70, 23.32)));
+		cache.onAnimalChanged(AnimalChangedEvent.updated(animal(4, AnimalStatus.REPORTED, 0, 0)));
+		assertEquals(0, cache.indexedGroupCount());
+
+		loadPage(first, page(true, 4, 3));
+		cache.getNear(new AnimalReadCache.NearKey(42.70, 23.32, 10.0, null), () -> load(List.of()));
+		cache.invalidateAll();
+		assertEquals(0, cache.indexedGroupCount());
+	}
+
+	@Test
+	void loadThatRacedAWriteIsNotCached() {
+		// The write commits while the details are being read
+		cache.getDetails(3L, () -> {
+			AnimalDto stale = details(3L, 0, 0);
+			cache.onAnimalChanged(AnimalChangedEvent.updated(animal(3, AnimalStatus.REPORTED, 0, 0)));
+			return stale;
+		});
+
+		int before = loads.get();
+		cache.getDetails(3L, () -> details(3L, 0, 0));
+		cache.getDetails(3L, () -> details(3L, 0, 0));
+		assertEquals(before + 1, loads.get(), "reloaded once, then cached");
+	}
+
+	@Test
+	void recordsHitsAndMisses() {
+		cache.getDetails(1L, () -> details(1L, 0, 0));
+		cache.getDetails(1L, () -> details(1L, 0, 0));
+
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "animals.details").tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "animals.details").tag("result", "miss").functionCounter().count());
+	}
+
+	private void loadPage(AnimalReadCache.PageKey key, CursorPage<AnimalSummaryDto> page) {
+		cache.getPage(key, () -> load(page));
+	}
+
+	private <T> T load(T value) {
+		loads.incrementAndGet();
+		return value;
+	}
+
+	private static AnimalReadCache.PageKey pageKey(AnimalStatus status, AnimalCursor cursor) {
+		return new AnimalReadCache.PageKey(status, cursor.getCreatedAt(), cursor.getId(), 2);
+	}
+
+	private static AnimalCursor cursorAt(long id) {
+		return new AnimalCursor(T0.plusMinutes(id), id);
+	}
+
+	// Animal n was created n minutes after T0, pages list newest first
+	private static CursorPage<AnimalSummaryDto> page(boolean hasMore, long... ids) {
+		List<AnimalSummaryDto> items = new ArrayList<>();
+		for (long id : ids) {
+			AnimalSummaryDto item = new AnimalSummaryDto();
+			item.setId(id);
+			item.setCreatedAt(T0.plusMinutes(id));
+			items.add(item);
+		}
+		return new CursorPage<>(items, hasMore ? "next" : null, items.size());
+	}
+
+	private AnimalDto details(Long id, double lat, double lng) {
+		loads.incrementAndGet();
+		AnimalDto dto = new AnimalDto();
+		dto.setId(id);
+		dto.setLatitude(BigDecimal.valueOf(lat));
+		dto.setLongitude(BigDecimal.valueOf(lng));
+		return dto;
+	}
+
+	private static Animal animal(long id, AnimalStatus status, double lat, double lng) {
+		Animal animal = new Animal();
+		animal.setId(id);
+		animal.setStatus(status);
+		animal.setLatitude(BigDecimal.valueOf(lat));
+		animal.setLongitude(BigDecimal.valueOf(lng));
+		animal.setCreatedAt(T0.plusMinutes(id));
+		return animal;
+	}
+}
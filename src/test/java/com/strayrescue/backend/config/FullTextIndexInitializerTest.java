@@ -0,0 +1,43 @@
+package com.strayrescue.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search must not send MATCH ... AGAINST unless the index was created.
+ */
+class FullTextIndexInitializerTest {
+
+	@Test
+	void indexThatCannotBeCreatedIsNotAvailable() {
+		// H2 has no FULLTEXT indexes, so the CREATE fails like it would on a broken MariaDB setup
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:fulltext;DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS animals (id BIGINT PRIMARY KEY, name VARCHAR(100), description VARCHAR(1000))");
+
+		FullTextIndexInitializer initializer = initializer(jdbcTemplate, true);
+		initializer.createIndex();
+
+		assertFalse(initializer.isAvailable());
+	}
+
+	@Test
+	void disabledIndexIsNotAvailable() {
+		FullTextIndexInitializer initializer = initializer(null, false);
+		initializer.createIndex();
+
+		assertFalse(initializer.isAvailable());
+	}
+
+	private static FullTextIndexInitializer initializer(JdbcTemplate jdbcTemplate, boolean enabled) {
+		FullTextIndexInitializer initializer = new FullTextIndexInitializer();
+		ReflectionTestUtils.setField(initializer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(initializer, "fullTextEnabled", enabled);
+		return initializer;
+	}
+}
@@ -0,0 +1,108 @@
+package com.strayrescue.backend.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the S3 client from S3Config against an in-process S3 stand-in and
+ * checks that concurrent uploads share a bounded set of pooled connections.
+ */
+class S3ClientConnectionReuseTest {
+
+	private static final int MAX_CONNECTIONS = 8;
+
+	private HttpServer server;
+	private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger puts = new AtomicInteger();
+	private S3Client s3Client;
+
+	@BeforeEach
+	void startFakeS3() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(Executors.newFixedThreadPool(32));
+		server.start();
+
+		s3Client = S3Config.createS3Client("us-east-1",
+				StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")),
+				"http://127.0.0.1:" + server.getAddress().getPort(),
+				MAX_CONNECTIONS, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofSeconds(60));
+	}
+
+	@AfterEach
+	void stopFakeS3() {
+		s3Client.close();
+		server.stop(0);
+	}
+
+	@Test
+	void sequentialUploadsReuseOneConnection() {
+		for (int i = 0; i < 20; i++) {
+			put("seq-" + i);
+		}
+		assertEquals(20, puts.get());
+		assertEquals(1, clientPorts.size());
+	}
+
+	@Test
+	void concurrentUploadsStayWithinPool() throws Exception {
+		int uploads = 400;
+		ExecutorService pool = Executors.newFixedThreadPool(32);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < uploads; i++) {
+			String key = "concurrent-" + i;
+			futures.add(pool.submit(() -> put(key)));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		assertEquals(uploads, puts.get());
+		assertTrue(clientPorts.size() <= MAX_CONNECTIONS, "connections used: " + clientPorts.size());
+	}
+
+	private void put(String key) {
+		byte[] data = new byte[16 * 1024];
+		s3Client.putObject(PutObjectRequest.builder()
+				.bucket("test-bucket")
+				.key("animals/1/" + key + ".jpg")
+				.contentType("image/jpeg")
+				.build(), RequestBody.fromBytes(data));
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		clientPorts.add(exchange.getRemoteAddress().getPort());
+		try (InputStream body = exchange.getRequestBody()) {
+			body.readAllBytes();
+		}
+		if ("PUT".equals(exchange.getRequestMethod())) {
+			puts.incrementAndGet();
+		}
+		exchange.sendResponseHeaders(200, -1);
+		exchange.close();
+	}
+}
@@ -0,0 +1,44 @@
+package com.strayrescue.backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /near queries with points or radii that are not finite numbers are refused
+ * before they reach the index or the database.
+ */
+class AnimalControllerTest {
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		// No services: a rejected request must not need them
+		mockMvc = MockMvcBuilders.standaloneSetup(new AnimalController()).build();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"42.7, 23.3, NaN",
+		"42.7, 23.3, Infinity",
+		"42.7, 23.3, -Infinity",
+		"42.7, 23.3, 0",
+		"42.7, 23.3, -5",
+		"NaN, 23.3, 10",
+		"42.7, Infinity, 10"
+	})
+	void nearRejectsPointsAndRadiiThatAreNotFinite(String latitude, String longitude, String radiusKm) throws Exception {
+		mockMvc.perform(get("/api/animals/near")
+				.param("latitude", latitude)
+				.param("longitude", longitude)
+				.param("radiusKm", radiusKm)
+				.param("limit", "5"))
+			.andExpect(status().isBadRequest());
+	}
+}
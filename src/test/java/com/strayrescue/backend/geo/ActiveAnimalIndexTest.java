@@ -0,0 +1,166 @@
+package com.strayrescue.backend.geo;
+
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.config.FullTextIndexInitializer;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.mapper.AnimalImageMapperImpl;
+import com.strayrescue.backend.mapper.AnimalMapper;
+import com.strayrescue.backend.mapper.UserMapper;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import com.strayrescue.backend.service.AnimalService;
+import com.strayrescue.backend.service.AnimalStatsService;
+import com.strayrescue.backend.service.DuplicateReportDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The index must follow committed writes, and a rebuild must repair drift
+ * without losing changes that commit while it reads the table.
+ */
+@DataJpaTest(properties = {
+	"spring.test.database.replace=none",
+	// MariaDB mode for the stats upserts that run with each write
+	"spring.datasource.url=jdbc:h2:mem:index;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.show-sql=false"
+})
+@Import({AnimalService.class, FullTextIndexInitializer.class, ActiveAnimalIndex.class, AnimalReadCache.class, DuplicateReportDetector.class, AnimalStatsService.class, SimpleMeterRegistry.class,
+		AnimalMapper.class, UserMapper.class, AnimalImageMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActiveAnimalIndexTest {
+
+	private static final double LAT = 42.6977;
+	private static final double LNG = 23.3219;
+
+	@Autowired
+	private ActiveAnimalIndex index;
+
+	@Autowired
+	private AnimalService animalService;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User reporter;
+
+	@BeforeEach
+	void setUp() {
+		reporter = userRepository.save(new User("reporter", "reporter@example.com", "password-hash"));
+		index.warmUp();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		ReflectionTestUtils.setField(index, "animalRepository", animalRepository);
+		animalRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void committedWritesReachTheIndex() {
+		Animal animal = animalService.reportAnimal("Rex", "Dog", "Friendly", LAT, LNG, null, AnimalStatus.REPORTED, reporter);
+		assertEquals(List.of(animal.getId()), idsNearby());
+
+		animalService.updateAnimalStatus(animal.getId(), AnimalStatus.ADOPTED);
+		assertEquals(List.of(), idsNearby());
+
+		animalService.updateAnimalStatus(animal.getId(), AnimalStatus.IN_CARE);
+		assertEquals(List.of(animal.getId()), idsNearby());
+
+		animalService.deleteAnimal(animal.getId());
+		assertEquals(List.of(), idsNearby());
+		assertEquals(0, index.size());
+
+		// Unknown ids are ignored, as before the index existed
+		assertDoesNotThrow(() -> animalService.deleteAnimal(animal.getId()));
+	}
+
+	@Test
+	void reconcileRepairsRowsWrittenWithoutEvents() {
+		Animal stale = animalService.reportAnimal("Rex", "Dog", "Friendly", LAT, LNG, null, AnimalStatus.REPORTED, reporter);
+		animalRepository.deleteById(stale.getId());
+		Animal missed = animalRepository.save(located(new Animal("Luna", "Cat", "Shy", reporter)));
+		assertEquals(List.of(stale.getId()), idsNearby());
+
+		index.reconcile();
+
+		assertEquals(List.of(missed.getId()), idsNearby());
+	}
+
+	@Test
+	void reconcileKeepsChangesMadeWhileReadingTheTable() {
+		Animal existing = animalRepository.save(located(new Animal("Rex", "Dog", "Friendly", reporter)));
+		Animal[] reportedDuringRebuild = new Animal[1];
+		// Another request commits a report after the rebuild has read the table
+		AnimalRepository slowRead = (AnimalRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class<?>[] {AnimalRepository.class}, (proxy, method, args) -> {
+				Object result;
+				try {
+					result = method.invoke(animalRepository, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+				if (method.getName().equals("findLocationsExcludingStatuses")) {
+					reportedDuringRebuild[0] = animalRepository.save(located(new Animal("Luna", "Cat", "Shy", reporter)));
+					index.onAnimalChanged(AnimalChangedEvent.created(reportedDuringRebuild[0]));
+				}
+				return result;
+			});
+		ReflectionTestUtils.setField(index, "animalRepository", slowRead);
+
+		index.reconcile();
+
+		List<Long> ids = idsNearby();
+		assertEquals(2, ids.size());
+		assertTrue(ids.contains(existing.getId()));
+		assertTrue(ids.contains(reportedDuringRebuild[0].getId()));
+	}
+
+	@Test
+	void nearestEndsForRadiiThatAreNotFinite() {
+		Animal animal = animalService.reportAnimal("Rex", "Dog", "Friendly", LAT, LNG, null, AnimalStatus.REPORTED, reporter);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			assertEquals(List.of(), index.findNearest(LAT, LNG, 5, Double.NaN));
+			List<ActiveAnimalIndex.Neighbor> unbounded = index.findNearest(LAT, LNG, 5, Double.POSITIVE_INFINITY);
+			assertEquals(List.of(animal.getId()), unbounded.stream().map(ActiveAnimalIndex.Neighbor::getAnimalId).toList());
+		});
+	}
+
+	private List<Long> idsNearby() {
+		return index.findWithinRadius(LAT, LNG, 1.0).stream().map(ActiveAnimalIndex.Neighbor::getAnimalId).toList();
+	}
+
+	private static Animal located(Animal animal) {
+		animal.setStatus(AnimalStatus.REPORTED);
+		animal.setLatitude(BigDecimal.valueOf(LAT));
+		animal.setLongitude(BigDecimal.valueOf(LNG));
+		return animal;
+	}
+}
@@ -0,0 +1,138 @@
+package com.strayrescue.backend.geo;
+
+import com.strayrescue.backend.dto.response.ClusterDto;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalClusterTilesTest {
+
+	private static final int ANIMALS = 3000;
+
+	private ActiveAnimalIndex index;
+	private AnimalClusterTiles clusterTiles;
+	private SimpleMeterRegistry meterRegistry;
+	private Animal[] animals;
+
+	@BeforeEach
+	void setUp() {
+		index = new ActiveAnimalIndex();
+		ReflectionTestUtils.setField(index, "ready", true);
+		meterRegistry = new SimpleMeterRegistry();
+		clusterTiles = new AnimalClusterTiles();
+		ReflectionTestUtils.setField(clusterTiles, "activeAnimalIndex", index);
+		ReflectionTestUtils.setField(clusterTiles, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(clusterTiles, "maxTiles", 1000L);
+		ReflectionTestUtils.setField(clusterTiles, "maxTilesPerRequest", 100);
+		clusterTiles.start();
+
+		Random random = new Random(7);
+		AnimalStatus[] statuses = AnimalStatus.values();
+		animals = new Animal[ANIMALS];
+		for (int i = 0; i < ANIMALS; i++) {
+			Animal animal = new Animal();
+			animal.setId((long) i + 1);
+			animal.setSpecies("dog");
+			animal.setStatus(statuses[random.nextInt(statuses.length)]);
+			animal.setLatitude(BigDecimal.valueOf(42.6 + random.nextDouble() * 0.2));
+			animal.setLongitude(BigDecimal.valueOf(23.2 + random.nextDouble() * 0.2));
+			animals[i] = animal;
+			index.onAnimalChanged(AnimalChangedEvent.created(animal));
+		}
+	}
+
+	@Test
+	void clustersCountEveryActiveAnimalOnce() {
+		for (int zoom : new int[] {3, 10, 13}) {
+			List<ClusterDto> clusters = clusterTiles.clustersIn(42.59, 42.81, 23.19, 23.41, zoom);
+
+			Map<AnimalStatus, Integer> byStatus = new EnumMap<>(AnimalStatus.class);
+			int total = 0;
+			for (ClusterDto cluster : clusters) {
+				total += cluster.getCount();
+				cluster.getCountsByStatus().forEach((status, count) -> byStatus.merge(status, count, Integer::sum));
+				assertEquals(cluster.getCount(), cluster.getCountsByStatus().values().stream().mapToInt(Integer::intValue).sum());
+				assertNotNull(cluster.getRepresentativeId());
+			}
+
+			assertEquals(index.size(), total, "zoom " + zoom);
+			assertEquals(expectedByStatus(), byStatus, "zoom " + zoom);
+		}
+	}
+
+	@Test
+	void centroidAndRepresentativeComeFromTheCell() {
+		List<ClusterDto> clusters = clusterTiles.clustersIn(42.59, 42.81, 23.19, 23.41, 12);
+
+		for (ClusterDto cluster : clusters) {
+			Animal representative = animals[(int) (cluster.getRepresentativeId() - 1)];
+			assertFalse(representative.getStatus().isTerminal());
+			// Same cell: the same tile at zoom 12 + 3 (8 x 8 grid)
+			assertEquals(MapTiles.column(cluster.getLongitude(), 15), MapTiles.column(representative.getLongitude().doubleValue(), 15), 1);
+			assertEquals(MapTiles.row(cluster.getLatitude(), 15), MapTiles.row(representative.getLatitude().doubleValue(), 15), 1);
+		}
+	}
+
+	@Test
+	void changeRecomputesOnlyTheTileContainingIt() {
+		int zoom = 13;
+		clusterTiles.clustersIn(42.59, 42.81, 23.19, 23.41, zoom);
+		double tilesComputed = misses();
+
+		clusterTiles.clustersIn(42.59, 42.81, 23.19, 23.41, zoom);
+		assertEquals(tilesComputed, misses(), "second request is served from the cache");
+
+		Animal animal = activeAnimal();
+		AnimalStatus previous = animal.getStatus();
+		animal.setStatus(AnimalStatus.ADOPTED);
+		index.onAnimalChanged(AnimalChangedEvent.statusChanged(animal, previous));
+
+		List<ClusterDto> clusters = clusterTiles.clustersIn(42.59, 42.81, 23.19, 23.41, zoom);
+		assertEquals(tilesComputed + 1, misses());
+		assertEquals(index.size(), clusters.stream().mapToInt(ClusterDto::getCount).sum());
+		assertEquals(expectedByStatus().get(previous),
+				clusters.stream().mapToInt(c -> c.getCountsByStatus().getOrDefault(previous, 0)).sum());
+	}
+
+	@Test
+	void rejectsBoxesCoveringTooManyTiles() {
+		assertThrows(IllegalArgumentException.class, () -> clusterTiles.clustersIn(42.0, 43.0, 23.0, 24.0, 16));
+		assertThrows(IllegalArgumentException.class, () -> clusterTiles.clustersIn(42.0, 43.0, 23.0, 24.0, 21));
+	}
+
+	private Animal activeAnimal() {
+		for (Animal animal : animals) {
+			if (!animal.getStatus().isTerminal()) {
+				return animal;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private Map<AnimalStatus, Integer> expectedByStatus() {
+		Map<AnimalStatus, Integer> expected = new EnumMap<>(AnimalStatus.class);
+		for (Animal animal : animals) {
+			if (!animal.getStatus().isTerminal()) {
+				expected.merge(animal.getStatus(), 1, Integer::sum);
+			}
+		}
+		return expected;
+	}
+
+	private double misses() {
+		return meterRegistry.get("cache.gets").tag("cache", "animals.clusters").tag("result", "miss")
+				.functionCounter().count();
+	}
+}
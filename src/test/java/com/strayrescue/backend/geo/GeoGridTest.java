@@ -0,0 +1,63 @@
+package com.strayrescue.backend.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+	private static final double KM_PER_DEGREE = Math.PI * GeoGrid.EARTH_RADIUS_KM / 180;
+
+	@Test
+	void distanceBetweenSofiaAndPlovdiv() {
+		double km = GeoGrid.distanceKm(42.6977, 23.3219, 42.1354, 24.7453);
+		assertEquals(132.0, km, 2.0);
+	}
+
+	@Test
+	void boundingBoxCellsContainPointsWithinRadius() {
+		double lat = 42.6977;
+		double lng = 23.3219;
+		GeoGrid.BoundingBox box = GeoGrid.boundingBox(lat, lng, 10.0);
+		List<Long> cells = GeoGrid.cellsCovering(box, 256);
+		assertNotNull(cells);
+
+		// Points on the circle in each direction must fall into a covered cell
+		for (int bearing = 0; bearing < 360; bearing += 15) {
+			double rad = Math.toRadians(bearing);
+			double pLat = lat + (9.9 / KM_PER_DEGREE) * Math.cos(rad);
+			double pLng = lng + (9.9 / (KM_PER_DEGREE * Math.cos(Math.toRadians(lat)))) * Math.sin(rad);
+			assertTrue(GeoGrid.distanceKm(lat, lng, pLat, pLng) <= 10.0);
+			assertTrue(cells.contains(GeoGrid.cellOf(pLat, pLng)), "bearing " + bearing);
+		}
+	}
+
+	@Test
+	void boundingBoxContainsPointsNearTheRadiusAlongAMeridian() {
+		double lat = 42.6977;
+		double lng = 23.3219;
+		for (double radiusKm : new double[] {0.5, 10.0, 100.0, 1000.0}) {
+			GeoGrid.BoundingBox box = GeoGrid.boundingBox(lat, lng, radiusKm);
+			double latDelta = 0.999 * radiusKm / KM_PER_DEGREE;
+
+			assertTrue(GeoGrid.distanceKm(lat, lng, lat + latDelta, lng) < radiusKm);
+			assertTrue(lat + latDelta <= box.getMaxLat(), "north at " + radiusKm + " km");
+			assertTrue(lat - latDelta >= box.getMinLat(), "south at " + radiusKm + " km");
+		}
+	}
+
+	@Test
+	void largeRadiusFallsBackToRangeScan() {
+		GeoGrid.BoundingBox box = GeoGrid.boundingBox(42.6977, 23.3219, 500.0);
+		assertNull(GeoGrid.cellsCovering(box, 256));
+	}
+
+	@Test
+	void boxCrossingAntimeridianSpansAllLongitudes() {
+		GeoGrid.BoundingBox box = GeoGrid.boundingBox(0.0, 179.99, 50.0);
+		assertEquals(-180.0, box.getMinLng());
+		assertEquals(180.0, box.getMaxLng());
+	}
+}
@@ -0,0 +1,71 @@
+package com.strayrescue.backend.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointQuadTreeTest {
+
+	@Test
+	void boxQueryMatchesBruteForce() {
+		Random random = new Random(42);
+		int n = 5000;
+		double[] lats = new double[n];
+		double[] lngs = new double[n];
+		PointQuadTree tree = new PointQuadTree();
+		for (int i = 0; i < n; i++) {
+			lats[i] = 42.0 + random.nextDouble();
+			lngs[i] = 23.0 + random.nextDouble();
+			tree.insert(i, lats[i], lngs[i]);
+		}
+
+		// Remove every third point
+		for (int i = 0; i < n; i += 3) {
+			assertTrue(tree.remove(i, lats[i], lngs[i]));
+		}
+		assertFalse(tree.remove(0, lats[0], lngs[0]));
+
+		Set<Long> found = new HashSet<>();
+		tree.forEachInBox(42.2, 42.5, 23.1, 23.6, (id, lat, lng) -> found.add(id));
+
+		Set<Long> expected = new HashSet<>();
+		for (int i = 0; i < n; i++) {
+			if (i % 3 != 0 && lats[i] >= 42.2 && lats[i] <= 42.5 && lngs[i] >= 23.1 && lngs[i] <= 23.6) {
+				expected.add((long) i);
+			}
+		}
+		assertEquals(expected, found);
+		assertEquals(n - (n + 2) / 3, tree.size());
+	}
+
+	@Test
+	void handlesManyIdenticalPoints() {
+		PointQuadTree tree = new PointQuadTree();
+		for (int i = 0; i < 200; i++) {
+			tree.insert(i, 42.6977, 23.3219);
+		}
+		int[] count = {0};
+		tree.forEachInBox(42.6, 42.8, 23.3, 23.4, (id, lat, lng) -> count[0]++);
+		assertEquals(200, count[0]);
+	}
+
+	@Test
+	void taggedVisitorSeesInsertTags() {
+		PointQuadTree tree = new PointQuadTree();
+		for (int i = 0; i < 100; i++) {
+			tree.insert(i, 42.0 + i * 0.001, 23.0, i % 4);
+		}
+		tree.remove(5, 42.0 + 5 * 0.001, 23.0);
+
+		int[] sum = {0};
+		tree.forEachInBox(41.0, 43.0, 22.0, 24.0, (id, lat, lng, tag) -> {
+			assertEquals(id % 4, tag);
+			sum[0] += tag;
+		});
+		assertEquals(150 - 1, sum[0]);
+	}
+}
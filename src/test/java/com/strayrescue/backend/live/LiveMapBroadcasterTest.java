@@ -0,0 +1,290 @@
+package com.strayrescue.backend.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strayrescue.backend.event.AnimalChangedEvent;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveMapBroadcasterTest {
+
+	private LiveMapBroadcaster broadcaster;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new LiveMapBroadcaster();
+		ReflectionTestUtils.setField(broadcaster, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(broadcaster, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(broadcaster, "environment", new MockEnvironment());
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 20000);
+		ReflectionTestUtils.setField(broadcaster, "bufferSize", 4);
+		ReflectionTestUtils.setField(broadcaster, "senderThreads", 2);
+		broadcaster.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void eventsReachOnlyMatchingSubscriptions() throws Exception {
+		RecordingEmitter sofia = new RecordingEmitter();
+		RecordingEmitter plovdiv = new RecordingEmitter();
+		RecordingEmitter verifiedAnywhere = new RecordingEmitter();
+		broadcaster.register(sofia, 42.6, 42.8, 23.2, 23.5, Set.of());
+		broadcaster.register(plovdiv, 42.1, 42.2, 24.7, 24.8, Set.of());
+		broadcaster.register(verifiedAnywhere, -90, 90, -180, 180, Set.of(AnimalStatus.VERIFIED));
+
+		Animal dog = animal(1L, 42.69, 23.32, AnimalStatus.REPORTED);
+		broadcaster.onAnimalChanged(AnimalChangedEvent.created(dog));
+		Animal cat = animal(2L, 42.15, 24.75, AnimalStatus.VERIFIED);
+		broadcaster.onAnimalChanged(AnimalChangedEvent.statusChanged(cat, AnimalStatus.REPORTED));
+		cat.setStatus(AnimalStatus.ADOPTED);
+		broadcaster.onAnimalChanged(AnimalChangedEvent.statusChanged(cat, AnimalStatus.VERIFIED));
+
+		sofia.await(1);
+		plovdiv.await(2);
+		verifiedAnywhere.await(2);
+		Thread.sleep(100);
+
+		assertEquals(List.of("created"), sofia.names());
+		assertTrue(sofia.payloads().get(0).contains("\"animalId\":1"));
+		assertEquals(List.of("status_changed", "status_changed"), plovdiv.names());
+		// Becoming VERIFIED and leaving VERIFIED, but not the Sofia report
+		assertEquals(List.of("status_changed", "status_changed"), verifiedAnywhere.names());
+	}
+
+	@Test
+	void slowSubscriberIsClosedWithoutHoldingUpOthers() throws Exception {
+		BlockingEmitter slow = new BlockingEmitter();
+		RecordingEmitter fast = new RecordingEmitter();
+		broadcaster.register(slow, 42.6, 42.8, 23.2, 23.5, Set.of());
+		broadcaster.register(fast, 42.6, 42.8, 23.2, 23.5, Set.of());
+
+		for (long id = 1; id <= 20; id++) {
+			broadcaster.onAnimalChanged(AnimalChangedEvent.created(animal(id, 42.7, 23.3, AnimalStatus.REPORTED)));
+			fast.await((int) id);
+		}
+
+		assertEquals(1, broadcaster.subscriberCount());
+		assertEquals(20, fast.names().size());
+		slow.release.countDown();
+		assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void moreBlockedClientsThanSenderThreadsDoNotStopOthers() throws Exception {
+		ReflectionTestUtils.setField(broadcaster, "sendTimeoutMs", 100L);
+		List<BlockingEmitter> blocked = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			BlockingEmitter emitter = new BlockingEmitter();
+			broadcaster.register(emitter, 42.6, 42.8, 23.2, 23.5, Set.of());
+			blocked.add(emitter);
+		}
+		RecordingEmitter fast = new RecordingEmitter();
+		broadcaster.register(fast, 42.6, 42.8, 23.2, 23.5, Set.of());
+
+		for (long id = 1; id <= 20; id++) {
+			broadcaster.onAnimalChanged(AnimalChangedEvent.created(animal(id, 42.7, 23.3, AnimalStatus.REPORTED)));
+			long deadline = System.currentTimeMillis() + 5000;
+			while (fast.count() < id && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+				broadcaster.closeStuckStreams();
+			}
+		}
+
+		assertEquals(20, fast.names().size());
+		assertEquals(1, broadcaster.subscriberCount());
+		for (BlockingEmitter emitter : blocked) {
+			emitter.release.countDown();
+		}
+		for (BlockingEmitter emitter : blocked) {
+			assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+		}
+		// The threads lent for the blocked writes are given back
+		assertEquals(2, broadcaster.senderPoolSize());
+	}
+
+	@Test
+	void gridFindsTheSameSubscriptionsAsAScan() {
+		Random random = new Random(11);
+		SubscriptionGrid grid = new SubscriptionGrid();
+		List<MapSubscription> all = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			// Mostly street and city sized boxes, some whole-country ones
+			double size = i % 100 == 0 ? 5 + random.nextDouble() * 20 : random.nextDouble() * 0.5;
+			double lat = 41 + random.nextDouble() * 3;
+			double lng = 22 + random.nextDouble() * 6;
+			MapSubscription subscription = new MapSubscription(new SseEmitter(), lat, lat + size, lng, lng + size, Set.of(), 1);
+			grid.add(subscription);
+			all.add(subscription);
+		}
+		for (int i = 0; i < all.size(); i += 2) {
+			grid.remove(all.get(i));
+		}
+
+		long candidates = 0;
+		for (int i = 0; i < 2000; i++) {
+			double lat = 41 + random.nextDouble() * 4;
+			double lng = 22 + random.nextDouble() * 7;
+			Set<MapSubscription> found = new HashSet<>();
+			grid.forEachCovering(lat, lng, s -> assertTrue(found.add(s), "reported twice"));
+
+			Set<MapSubscription> expected = new HashSet<>();
+			for (int j = 1; j < all.size(); j += 2) {
+				if (all.get(j).covers(lat, lng)) {
+					expected.add(all.get(j));
+				}
+			}
+			assertEquals(expected, found);
+			candidates += found.size();
+		}
+		assertTrue(candidates > 0, "no event matched any subscription");
+	}
+
+	@Test
+	void concurrentSubscribersNeverExceedTheLimit() throws Exception {
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 100);
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < 50; i++) {
+						try {
+							broadcaster.register(new SseEmitter(), 42.6, 42.8, 23.2, 23.5, Set.of());
+							accepted.incrementAndGet();
+						} catch (LiveMapFullException e) {
+							rejected.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(100, accepted.get());
+		assertEquals(300, rejected.get());
+		assertEquals(100, broadcaster.subscriberCount());
+	}
+
+	@Test
+	void streamEndingWhileRegisteringIsRemoved() {
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 1);
+
+		broadcaster.register(new ClosedEmitter(), 42.6, 42.8, 23.2, 23.5, Set.of());
+
+		assertEquals(0, broadcaster.subscriberCount());
+		// The slot was given back
+		broadcaster.register(new SseEmitter(), 42.6, 42.8, 23.2, 23.5, Set.of());
+		assertEquals(1, broadcaster.subscriberCount());
+	}
+
+	private static Animal animal(Long id, double lat, double lng, AnimalStatus status) {
+		Animal animal = new Animal();
+		animal.setId(id);
+		animal.setSpecies("dog");
+		animal.setStatus(status);
+		animal.setLatitude(BigDecimal.valueOf(lat));
+		animal.setLongitude(BigDecimal.valueOf(lng));
+		return animal;
+	}
+
+	// Records what would be written to the client
+	private static class RecordingEmitter extends SseEmitter {
+		private final List<String> events = new ArrayList<>();
+
+		@Override
+		public synchronized void send(Set<DataWithMediaType> items) {
+			StringBuilder event = new StringBuilder();
+			items.forEach(item -> event.append(item.getData()));
+			if (!event.toString().startsWith(":")) {
+				events.add(event.toString());
+			}
+			notifyAll();
+		}
+
+		synchronized void await(int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while (events.size() < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+			assertTrue(events.size() >= count, "timed out waiting for events");
+		}
+
+		synchronized int count() {
+			return events.size();
+		}
+
+		synchronized List<String> names() {
+			List<String> names = new ArrayList<>();
+			for (String event : events) {
+				int start = event.indexOf("event:") + 6;
+				names.add(event.substring(start, event.indexOf('\n', start)));
+			}
+			return names;
+		}
+
+		synchronized List<String> payloads() {
+			return new ArrayList<>(events);
+		}
+	}
+
+	// A client that disconnects the moment the completion callback is wired
+	private static class ClosedEmitter extends SseEmitter {
+		@Override
+		public synchronized void onCompletion(Runnable callback) {
+			callback.run();
+		}
+	}
+
+	// A client that stops reading: the first write never returns until released
+	private static class BlockingEmitter extends SseEmitter {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		@Override
+		public void send(Set<DataWithMediaType> items) {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package com.strayrescue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.geo.ActiveAnimalIndex;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed API traffic against the whole application: map queries, search,
+ * listings, status updates and uploads from concurrent clients.
+ *
+ * Excluded from the normal build; run with
+ *   mvn -Ploadtest test [-Dloadtest.baseline=loadtest-baseline.json]
+ * Prints requests/sec and latency percentiles per endpoint and writes them to
+ * target/loadtest-result.json. Given a baseline (a previous result file), the
+ * test fails when an endpoint's p99 or throughput regresses by more than
+ * loadtest.threshold percent. Any endpoint with fewer than loadtest.min-samples
+ * requests (200) fails the run; lower it for short runs on small machines.
+ *
+ * Client and server share the machine, so compare runs from the same host.
+ * -Dloadtest.virtual=true runs the server with the "virtual" profile.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = LoadTestProfiles.class)
+// Each load test seeds its own data; a fresh context drops the previous test's schema
+@DirtiesContext
+class ApiLoadTest {
+
+	private static final int ANIMALS = Integer.getInteger("loadtest.animals", 5000);
+	private static final int USERS = Integer.getInteger("loadtest.users", 200);
+	private static final int IMAGES_PER_ANIMAL = Integer.getInteger("loadtest.images-per-animal", 2);
+	private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+	private static final double THRESHOLD_PERCENT = Double.parseDouble(System.getProperty("loadtest.threshold", "20"));
+	private static final String BASELINE = System.getProperty("loadtest.baseline", "");
+	private static final Path RESULT = Paths.get("target", "loadtest-result.json");
+
+	private static final int LOGINS = 20;
+	private static final String BOUNDARY = "loadtest-boundary";
+	private static final AnimalStatus[] STATUS_UPDATES = {AnimalStatus.VERIFIED, AnimalStatus.IN_CARE,
+			AnimalStatus.MEDICAL_CARE, AnimalStatus.READY_ADOPTION, AnimalStatus.ADOPTED};
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private AnimalImageRepository animalImageRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ActiveAnimalIndex activeAnimalIndex;
+
+	@Autowired
+	private AnimalReadCache animalReadCache;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private LoadTestClient client;
+	private List<Long> animalIds;
+	private List<String> tokens;
+	private byte[] uploadBody;
+
+	@Test
+	void mixedTraffic() throws Exception {
+		seed();
+		List<Operation> operations = operations();
+
+		System.out.printf("Warming up for %ds with %d clients%n", WARMUP_SECONDS, THREADS);
+		drive(operations, WARMUP_SECONDS);
+		Map<String, EndpointStats> stats = drive(operations, DURATION_SECONDS);
+
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("animals", ANIMALS);
+		settings.put("threads", THREADS);
+		settings.put("virtualThreads", LoadTestProfiles.virtualThreads());
+		LoadTestReport report = new LoadTestReport(stats, DURATION_SECONDS, settings);
+		report.write(objectMapper, RESULT);
+		report.print(RESULT);
+		if (!BASELINE.isEmpty()) {
+			report.compareWith(objectMapper, Paths.get(BASELINE), THRESHOLD_PERCENT);
+		}
+		assertTrue(report.getFailures().isEmpty(), "Load test regressions:\n" + String.join("\n", report.getFailures()));
+	}
+
+	private void seed() throws Exception {
+		long start = System.nanoTime();
+		client = new LoadTestClient(port, objectMapper);
+		LoadTestSeeder seeder = new LoadTestSeeder(userRepository, animalRepository,
+				animalImageRepository, transactionTemplate);
+		List<User> users = seeder.seedUsers("loaduser", USERS, passwordEncoder.encode(LoadTestClient.PASSWORD));
+		animalIds = seeder.seedAnimals(ANIMALS, IMAGES_PER_ANIMAL, users);
+
+		// Seeding bypasses the services, so rebuild what they keep in memory
+		activeAnimalIndex.reconcile();
+		animalReadCache.invalidateAll();
+
+		tokens = new ArrayList<>();
+		for (int i = 0; i < LOGINS; i++) {
+			tokens.add(client.login(users.get(i % users.size()).getUsername()));
+		}
+		uploadBody = multipartBody(sampleJpeg());
+		System.out.printf("Seeded %d users, %d animals, %d images in %ds%n", USERS, ANIMALS,
+				ANIMALS * IMAGES_PER_ANIMAL, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+	}
+
+	// Weights are roughly the production mix: mostly map and list reads
+	private List<Operation> operations() {
+		List<Operation> operations = new ArrayList<>();
+		operations.add(new Operation("GET /api/animals/near", 30, random -> client.get(String.format(
+				"/api/animals/near?latitude=%.5f&longitude=%.5f&%s", nearLatitude(random), nearLongitude(random),
+				random.nextBoolean() ? "radiusKm=" + (1 + random.nextInt(5)) : "limit=20"))));
+		operations.add(new Operation("GET /api/animals/search", 15, random -> client.get(
+				"/api/animals/search?q=" + LoadTestSeeder.WORDS[random.nextInt(LoadTestSeeder.WORDS.length)])));
+		operations.add(new Operation("GET /api/animals", 15, random -> client.get("/api/animals?size=20")));
+		operations.add(new Operation("GET /api/animals/status/{status}", 10, random -> client.get(
+				"/api/animals/status/" + STATUS_UPDATES[random.nextInt(STATUS_UPDATES.length)] + "?size=20")));
+		operations.add(new Operation("GET /api/animals/{id}", 15, random -> client.get("/api/animals/" + anyAnimal(random))));
+		operations.add(new Operation("PUT /api/animals/{id}/status", 12, random -> authorized(random,
+				"/api/animals/" + anyAnimal(random) + "/status")
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\""
+						+ STATUS_UPDATES[random.nextInt(STATUS_UPDATES.length)] + "\"}"))
+				.build()));
+		operations.add(new Operation("POST /api/images/animals/{id}/single", 3, random -> authorized(random,
+				"/api/images/animals/" + anyAnimal(random) + "/single")
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody))
+				.build()));
+		return operations;
+	}
+
+	private Map<String, EndpointStats> drive(List<Operation> operations, int seconds) throws InterruptedException {
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		operations.forEach(operation -> stats.put(operation.name, new EndpointStats()));
+		int totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+		for (int i = 0; i < THREADS; i++) {
+			clients.execute(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (System.nanoTime() < deadline) {
+					Operation operation = pick(operations, random.nextInt(totalWeight));
+					EndpointStats endpoint = stats.get(operation.name);
+					if (!client.send(operation.request.apply(random), endpoint)) {
+						return;
+					}
+				}
+			});
+		}
+		clients.shutdown();
+		assertTrue(clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS), "Clients did not finish");
+		return stats;
+	}
+
+	private HttpRequest.Builder authorized(ThreadLocalRandom random, String path) {
+		return client.authorized(path, tokens.get(random.nextInt(tokens.size())));
+	}
+
+	private long anyAnimal(ThreadLocalRandom random) {
+		return animalIds.get(random.nextInt(animalIds.size()));
+	}
+
+	private static double nearLatitude(ThreadLocalRandom random) {
+		return LoadTestSeeder.CENTER_LAT + random.nextDouble(-1, 1) * LoadTestSeeder.SPREAD_DEGREES;
+	}
+
+	private static double nearLongitude(ThreadLocalRandom random) {
+		return LoadTestSeeder.CENTER_LNG + random.nextDouble(-1, 1) * LoadTestSeeder.SPREAD_DEGREES;
+	}
+
+	private static Operation pick(List<Operation> operations, int roll) {
+		for (Operation operation : operations) {
+			roll -= operation.weight;
+			if (roll < 0) {
+				return operation;
+			}
+		}
+		return operations.get(operations.size() - 1);
+	}
+
+	// A phone-camera-sized JPEG so uploads exercise decode and resize
+	private static byte[] sampleJpeg() throws IOException {
+		BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 1600, 1200, Color.DARK_GRAY));
+		graphics.fillRect(0, 0, 1600, 1200);
+		graphics.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", out);
+		return out.toByteArray();
+	}
+
+	private static byte[] multipartBody(byte[] jpeg) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(("--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.jpg\"\r\n"
+				+ "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		body.write(jpeg);
+		body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+		return body.toByteArray();
+	}
+
+	private static final class Operation {
+		private final String name;
+		private final int weight;
+		private final Function<ThreadLocalRandom, HttpRequest> request;
+
+		Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+			this.name = name;
+			this.weight = weight;
+			this.request = request;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.strayrescue.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes of one endpoint during the measured window.
+ */
+class EndpointStats {
+
+	private long[] latenciesNanos = new long[1024];
+	private int count;
+	private int errors;
+	private int rejected;
+	private int failures;
+
+	synchronized void record(long nanos, int status) {
+		if (status == 503 || status == 429) {
+			rejected++; // Load shedding is an expected answer, not a failure
+		} else if (status >= 400) {
+			errors++;
+		}
+		if (count == latenciesNanos.length) {
+			latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+		}
+		latenciesNanos[count++] = nanos;
+	}
+
+	// No response at all (connection refused, timeout)
+	synchronized void recordFailure() {
+		errors++;
+		failures++;
+	}
+
+	synchronized int getCount() {
+		return count;
+	}
+
+	synchronized double errorRate() {
+		int total = count + failures;
+		return total == 0 ? 0 : (double) errors / total;
+	}
+
+	// requests, rps, error counts and nearest-rank latency percentiles in ms
+	synchronized Map<String, Object> summarize(double seconds) {
+		long[] sorted = Arrays.copyOf(latenciesNanos, count);
+		Arrays.sort(sorted);
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("requests", count);
+		summary.put("errors", errors);
+		summary.put("rejected", rejected);
+		summary.put("rps", round(count / seconds));
+		summary.put("p50Ms", percentileMs(sorted, 0.50));
+		summary.put("p95Ms", percentileMs(sorted, 0.95));
+		summary.put("p99Ms", percentileMs(sorted, 0.99));
+		summary.put("maxMs", count == 0 ? 0.0 : round(sorted[count - 1] / 1e6));
+		return summary;
+	}
+
+	private static double percentileMs(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+		return round(sorted[Math.max(0, rank)] / 1e6);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
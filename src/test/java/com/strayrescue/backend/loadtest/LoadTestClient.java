@@ -0,0 +1,76 @@
+package com.strayrescue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * HTTP client for the application under test, timing each request.
+ */
+class LoadTestClient {
+
+	static final String PASSWORD = "loadtest-password";
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final int port;
+	private final ObjectMapper objectMapper;
+
+	LoadTestClient(int port, ObjectMapper objectMapper) {
+		this.port = port;
+		this.objectMapper = objectMapper;
+	}
+
+	// Signs in a seeded user (all share PASSWORD) and returns the JWT
+	String login(String username) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/signin"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+				.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode(), "Login failed: " + response.body());
+		return objectMapper.readTree(response.body()).path("accessToken").asText();
+	}
+
+	// Returns false once the calling thread is interrupted
+	boolean send(HttpRequest request, EndpointStats stats) {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			stats.record(System.nanoTime() - start, response.statusCode());
+			return true;
+		} catch (IOException e) {
+			stats.recordFailure();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+	HttpRequest.Builder authorized(String path, String token) {
+		return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+	}
+
+	URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	int getPort() {
+		return port;
+	}
+}
@@ -0,0 +1,19 @@
+package com.strayrescue.backend.loadtest;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+/**
+ * "loadtest", plus "virtual" when run with -Dloadtest.virtual=true, so the
+ * same scenarios can be measured with platform and virtual request threads.
+ */
+class LoadTestProfiles implements ActiveProfilesResolver {
+
+	static boolean virtualThreads() {
+		return Boolean.getBoolean("loadtest.virtual");
+	}
+
+	@Override
+	public String[] resolve(Class<?> testClass) {
+		return virtualThreads() ? new String[] {"loadtest", "virtual"} : new String[] {"loadtest"};
+	}
+}
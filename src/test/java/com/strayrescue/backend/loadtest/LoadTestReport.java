@@ -0,0 +1,93 @@
+package com.strayrescue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint results of a load test run: printed as a table, written as
+ * JSON, and compared with an earlier run's JSON to find regressions.
+ */
+class LoadTestReport {
+
+	private static final double MAX_ERROR_RATE = 0.01;
+	// Fewer samples than this fails the run: the endpoint was starved or its client broke,
+	// and a p99 over so few requests is noise anyway
+	private static final int MIN_SAMPLES = Integer.getInteger("loadtest.min-samples", 200);
+	// Sub-millisecond p99 differences are scheduling jitter, not regressions
+	private static final double MIN_P99_DELTA_MS = 1.0;
+
+	private final Map<String, Object> result = new LinkedHashMap<>();
+	private final Map<String, Object> endpoints = new LinkedHashMap<>();
+	private final List<String> failures = new ArrayList<>();
+
+	LoadTestReport(Map<String, EndpointStats> stats, int seconds, Map<String, Object> settings) {
+		result.putAll(settings);
+		result.put("durationSeconds", seconds);
+		result.put("endpoints", endpoints);
+		stats.forEach((name, endpoint) -> {
+			endpoints.put(name, endpoint.summarize(seconds));
+			int requests = endpoint.getCount();
+			if (requests < MIN_SAMPLES) {
+				failures.add(String.format("%s: only %d requests, at least %d needed", name, requests, MIN_SAMPLES));
+			}
+			if (endpoint.errorRate() > MAX_ERROR_RATE) {
+				failures.add(String.format("%s: %.1f%% errors", name, endpoint.errorRate() * 100));
+			}
+		});
+	}
+
+	void write(ObjectMapper objectMapper, Path file) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+	}
+
+	@SuppressWarnings("unchecked")
+	void print(Path file) {
+		System.out.printf("%n%-44s %9s %9s %7s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Req/s",
+				"Errors", "503/429", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		endpoints.forEach((name, value) -> {
+			Map<String, Object> row = (Map<String, Object>) value;
+			System.out.printf("%-44s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n", name, row.get("requests"),
+					row.get("rps"), row.get("errors"), row.get("rejected"), row.get("p50Ms"), row.get("p95Ms"),
+					row.get("p99Ms"), row.get("maxMs"));
+		});
+		System.out.println("Results written to " + file);
+	}
+
+	// An endpoint regresses when its p99 grows, or its throughput drops, by more than thresholdPercent
+	void compareWith(ObjectMapper objectMapper, Path baselineFile, double thresholdPercent) throws IOException {
+		JsonNode baseline = objectMapper.readTree(baselineFile.toFile()).path("endpoints");
+		JsonNode current = objectMapper.valueToTree(endpoints);
+		double factor = thresholdPercent / 100;
+		current.fields().forEachRemaining(entry -> {
+			JsonNode now = entry.getValue();
+			JsonNode before = baseline.path(entry.getKey());
+			// Undersampled runs already failed in the constructor; an undersampled baseline is not comparable
+			if (before.isMissingNode() || before.path("requests").asInt() < MIN_SAMPLES) {
+				return;
+			}
+			double p99 = now.path("p99Ms").asDouble();
+			double baseP99 = before.path("p99Ms").asDouble();
+			if (p99 > baseP99 * (1 + factor) && p99 - baseP99 > MIN_P99_DELTA_MS) {
+				failures.add(String.format("%s: p99 %.2fms vs %.2fms baseline", entry.getKey(), p99, baseP99));
+			}
+			double rps = now.path("rps").asDouble();
+			double baseRps = before.path("rps").asDouble();
+			if (rps < baseRps * (1 - factor)) {
+				failures.add(String.format("%s: %.1f req/s vs %.1f baseline", entry.getKey(), rps, baseRps));
+			}
+		});
+	}
+
+	List<String> getFailures() {
+		return failures;
+	}
+}
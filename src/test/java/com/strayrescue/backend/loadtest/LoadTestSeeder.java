@@ -0,0 +1,134 @@
+package com.strayrescue.backend.loadtest;
+
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.ImageVariant;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the load-test database with users, animals spread around Sofia and
+ * READY images. Seeded from a fixed value so every run sees the same data.
+ */
+class LoadTestSeeder {
+
+	static final double CENTER_LAT = 42.6977;
+	static final double CENTER_LNG = 23.3219;
+	static final double SPREAD_DEGREES = 0.25;
+
+	static final String[] SPECIES = {"Dog", "Cat", "Bird", "Rabbit"};
+	static final String[] WORDS = {"friendly", "limping", "collar", "puppy", "kitten", "shy",
+			"brown", "black", "white", "spotted", "injured", "hungry", "playful", "old"};
+
+	private static final AnimalStatus[] STATUSES = {AnimalStatus.REPORTED, AnimalStatus.VERIFIED,
+			AnimalStatus.IN_CARE, AnimalStatus.MEDICAL_CARE, AnimalStatus.READY_ADOPTION, AnimalStatus.ADOPTED};
+	private static final int BATCH_SIZE = 500;
+
+	private final UserRepository userRepository;
+	private final AnimalRepository animalRepository;
+	private final AnimalImageRepository animalImageRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Random random = new Random(42);
+
+	LoadTestSeeder(UserRepository userRepository, AnimalRepository animalRepository,
+				   AnimalImageRepository animalImageRepository, TransactionTemplate transactionTemplate) {
+		this.userRepository = userRepository;
+		this.animalRepository = animalRepository;
+		this.animalImageRepository = animalImageRepository;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	// All users share one password hash; hashing each would dominate seeding. The prefix keeps
+	// test classes' users apart in logs and results.
+	List<User> seedUsers(String prefix, int count, String passwordHash) {
+		List<User> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			users.add(new User(prefix + i, prefix + i + "@example.com", passwordHash));
+		}
+		return userRepository.saveAll(users);
+	}
+
+	List<Long> seedAnimals(int count, int imagesPerAnimal, List<User> users) {
+		List<Long> ids = new ArrayList<>(count);
+		LocalDateTime now = LocalDateTime.now();
+		for (int start = 0; start < count; start += BATCH_SIZE) {
+			int from = start;
+			int to = Math.min(count, start + BATCH_SIZE);
+			ids.addAll(transactionTemplate.execute(status -> seedBatch(from, to, imagesPerAnimal, users, now)));
+		}
+		return ids;
+	}
+
+	private List<Long> seedBatch(int from, int to, int imagesPerAnimal, List<User> users, LocalDateTime now) {
+		List<Animal> animals = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			animals.add(animal(i, users.get(random.nextInt(users.size())), now));
+		}
+		animals = animalRepository.saveAll(animals);
+
+		List<AnimalImage> images = new ArrayList<>();
+		for (Animal animal : animals) {
+			for (int n = 0; n < imagesPerAnimal; n++) {
+				images.add(image(animal, n));
+			}
+		}
+		animalImageRepository.saveAll(images);
+		for (AnimalImage image : images) {
+			if (image.getIsPrimary()) {
+				image.getAnimal().setPrimaryImageId(image.getId());
+			}
+		}
+		return animals.stream().map(Animal::getId).toList();
+	}
+
+	private Animal animal(int i, User reporter, LocalDateTime now) {
+		String species = SPECIES[random.nextInt(SPECIES.length)];
+		String description = word() + " " + word() + " " + species.toLowerCase() + " near the " + word() + " fence";
+		Animal animal = new Animal(word() + " " + species + " " + i, species, description, reporter);
+		animal.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+		animal.setLatitude(coordinate(CENTER_LAT));
+		animal.setLongitude(coordinate(CENTER_LNG));
+		animal.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+		animal.setLastSeenAt(animal.getCreatedAt());
+		return animal;
+	}
+
+	private static AnimalImage image(Animal animal, int n) {
+		String baseKey = "animals/" + animal.getId() + "/seed-" + n;
+		AnimalImage image = new AnimalImage();
+		image.setFileName("seed-" + n + ".jpg");
+		image.setS3Key(ImageVariant.LARGE.keyFor(baseKey));
+		image.setS3Url("file:///seed/" + image.getS3Key());
+		image.setMediumS3Key(ImageVariant.MEDIUM.keyFor(baseKey));
+		image.setMediumUrl("file:///seed/" + image.getMediumS3Key());
+		image.setThumbnailS3Key(ImageVariant.THUMBNAIL.keyFor(baseKey));
+		image.setThumbnailUrl("file:///seed/" + image.getThumbnailS3Key());
+		image.setContentType("image/jpeg");
+		image.setStatus(ImageStatus.READY);
+		image.setIsPrimary(n == 0);
+		image.setDisplayOrder(n);
+		image.setAnimal(animal);
+		return image;
+	}
+
+	private String word() {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private BigDecimal coordinate(double center) {
+		double value = center + (random.nextDouble() * 2 - 1) * SPREAD_DEGREES;
+		return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+	}
+}
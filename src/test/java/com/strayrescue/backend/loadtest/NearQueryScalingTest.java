@@ -0,0 +1,166 @@
+package com.strayrescue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import com.strayrescue.backend.service.AnimalService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Radius query latency against table size: the geo_cell path behind /near
+ * next to the haversine scan it replaced, at every size in
+ * loadtest.near-sizes (10k, 100k and 500k animals by default).
+ *
+ *   mvn -Ploadtest test -Dtest=NearQueryScalingTest [-Dloadtest.near-sizes=10000,100000]
+ *
+ * The table grows between rounds and every round runs the same random points
+ * through both queries. H2 evaluates the scan on every row just like MariaDB
+ * does, so the shape of the curve carries over; absolute times do not, so
+ * compare runs from the same host. Results go to target/near-scaling-result.json.
+ * The run fails if the two paths disagree or the grid path is not faster at
+ * the largest size.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles(resolver = LoadTestProfiles.class)
+// Each load test seeds its own data; a fresh context drops the previous test's schema
+@DirtiesContext
+class NearQueryScalingTest {
+
+	private static final int[] SIZES = Arrays.stream(System.getProperty("loadtest.near-sizes", "10000,100000,500000")
+			.split(",")).mapToInt(size -> Integer.parseInt(size.trim())).sorted().toArray();
+	private static final int QUERIES = Integer.getInteger("loadtest.near-queries", 50);
+	private static final int WARMUP_QUERIES = 5;
+	private static final Path RESULT = Paths.get("target", "near-scaling-result.json");
+
+	// The query findAnimalsNearLocation ran before the geo_cell index
+	private static final String HAVERSINE_SCAN = "SELECT a FROM Animal a WHERE " +
+			"(6371 * ACOS(COS(RADIANS(:lat)) * COS(RADIANS(CAST(a.latitude AS double))) * " +
+			"COS(RADIANS(CAST(a.longitude AS double)) - RADIANS(:lng)) + " +
+			"SIN(RADIANS(:lat)) * SIN(RADIANS(CAST(a.latitude AS double))))) <= :radiusKm";
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private AnimalImageRepository animalImageRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private AnimalService animalService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void latencyAgainstTableSize() throws Exception {
+		LoadTestSeeder seeder = new LoadTestSeeder(userRepository, animalRepository,
+				animalImageRepository, transactionTemplate);
+		List<User> users = seeder.seedUsers("nearuser", 50, "unused");
+
+		Map<String, Object> rounds = new LinkedHashMap<>();
+		Map<String, EndpointStats> last = null;
+		int seeded = 0;
+		for (int size : SIZES) {
+			long start = System.nanoTime();
+			seeder.seedAnimals(size - seeded, 0, users);
+			seeded = size;
+			System.out.printf("Seeded %d animals in %ds%n", size,
+					TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+			last = measure();
+			Map<String, Object> round = new LinkedHashMap<>();
+			last.forEach((name, stats) -> round.put(name, stats.summarize(1)));
+			rounds.put(String.valueOf(size), round);
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("queries", QUERIES);
+		result.put("rounds", rounds);
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(RESULT.toFile(), result);
+		print(rounds);
+
+		double grid = (double) last.get("grid").summarize(1).get("p50Ms");
+		double scan = (double) last.get("scan").summarize(1).get("p50Ms");
+		assertTrue(grid < scan, String.format("Grid path p50 %.2fms is not below the scan's %.2fms at %d animals",
+				grid, scan, SIZES[SIZES.length - 1]));
+	}
+
+	// Same points for every size so rounds differ only in table size
+	private Map<String, EndpointStats> measure() {
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		stats.put("grid", new EndpointStats());
+		stats.put("scan", new EndpointStats());
+		Random random = new Random(7);
+		for (int i = 0; i < WARMUP_QUERIES + QUERIES; i++) {
+			double latitude = LoadTestSeeder.CENTER_LAT + (random.nextDouble() * 2 - 1) * LoadTestSeeder.SPREAD_DEGREES;
+			double longitude = LoadTestSeeder.CENTER_LNG + (random.nextDouble() * 2 - 1) * LoadTestSeeder.SPREAD_DEGREES;
+			double radiusKm = 1 + random.nextInt(5);
+			boolean measured = i >= WARMUP_QUERIES;
+
+			long start = System.nanoTime();
+			List<Animal> near = animalService.findAnimalsNearLocationInDatabase(latitude, longitude, radiusKm);
+			long gridNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			List<Animal> scanned = entityManager.createQuery(HAVERSINE_SCAN, Animal.class)
+					.setParameter("lat", latitude)
+					.setParameter("lng", longitude)
+					.setParameter("radiusKm", radiusKm)
+					.getResultList();
+			long scanNanos = System.nanoTime() - start;
+
+			// The scan also returned closed cases; the grid path leaves them out
+			Set<Long> expected = scanned.stream().filter(animal -> !animal.getStatus().isTerminal())
+					.map(Animal::getId).collect(Collectors.toSet());
+			Set<Long> actual = near.stream().map(Animal::getId).collect(Collectors.toSet());
+			assertEquals(expected, actual, "Grid path and scan disagree at " + latitude + "," + longitude);
+
+			if (measured) {
+				stats.get("grid").record(gridNanos, 200);
+				stats.get("scan").record(scanNanos, 200);
+			}
+		}
+		return stats;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void print(Map<String, Object> rounds) {
+		System.out.printf("%n%-10s %-6s %9s %9s %9s %9s%n", "Animals", "Path", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		rounds.forEach((size, round) -> ((Map<String, Map<String, Object>>) round).forEach((path, row) ->
+				System.out.printf("%-10s %-6s %9.2f %9.2f %9.2f %9.2f%n", size, path, row.get("p50Ms"),
+						row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"))));
+		System.out.println("Results written to " + RESULT);
+	}
+}
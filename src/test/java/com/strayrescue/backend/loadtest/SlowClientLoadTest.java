@@ -0,0 +1,226 @@
+package com.strayrescue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.geo.ActiveAnimalIndex;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thread-per-request against virtual threads with many slow clients.
+ *
+ * loadtest.slow-clients connections (1000 by default) send status updates
+ * whose bodies trickle in over about a second, the way phones on a bad
+ * network do, while a few fast clients query /near. Reading the body blocks
+ * the request thread, so with platform threads the slow clients hold every
+ * Tomcat worker and the fast requests queue behind them. Compare:
+ *
+ *   mvn -Ploadtest test -Dtest=SlowClientLoadTest
+ *   cp target/slowclient-result.json platform.json
+ *   mvn -Ploadtest,java21 test -Dtest=SlowClientLoadTest -Dloadtest.virtual=true \
+ *       -Dloadtest.slow-clients.baseline=platform.json
+ *
+ * The second run fails if virtual threads are slower than the baseline.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = LoadTestProfiles.class)
+// Each load test seeds its own data; a fresh context drops the previous test's schema
+@DirtiesContext
+class SlowClientLoadTest {
+
+	private static final int SLOW_CLIENTS = Integer.getInteger("loadtest.slow-clients", 1000);
+	private static final int FAST_CLIENTS = Integer.getInteger("loadtest.fast-clients", 8);
+	private static final int CHUNKS = 10;
+	private static final int CHUNK_DELAY_MS = Integer.getInteger("loadtest.slow-chunk-delay-ms", 100);
+	private static final int ANIMALS = 1000;
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+	private static final double THRESHOLD_PERCENT = Double.parseDouble(System.getProperty("loadtest.threshold", "20"));
+	private static final String BASELINE = System.getProperty("loadtest.slow-clients.baseline", "");
+	private static final Path RESULT = Paths.get("target", "slowclient-result.json");
+
+	private static final String SLOW_UPDATE = "PUT /api/animals/{id}/status (slow body)";
+	private static final String FAST_NEAR = "GET /api/animals/near";
+	private static final AnimalStatus[] STATUSES = {AnimalStatus.VERIFIED, AnimalStatus.IN_CARE,
+			AnimalStatus.READY_ADOPTION};
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private AnimalImageRepository animalImageRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ActiveAnimalIndex activeAnimalIndex;
+
+	@Autowired
+	private AnimalReadCache animalReadCache;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private LoadTestClient client;
+	private List<Long> animalIds;
+	private List<String> tokens;
+
+	@Test
+	void slowClientsDoNotStarveFastOnes() throws Exception {
+		client = new LoadTestClient(port, objectMapper);
+		LoadTestSeeder seeder = new LoadTestSeeder(userRepository, animalRepository,
+				animalImageRepository, transactionTemplate);
+		List<User> users = seeder.seedUsers("slowuser", 50, passwordEncoder.encode(LoadTestClient.PASSWORD));
+		animalIds = seeder.seedAnimals(ANIMALS, 1, users);
+		activeAnimalIndex.reconcile();
+		animalReadCache.invalidateAll();
+		tokens = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			tokens.add(client.login(users.get(i).getUsername()));
+		}
+
+		System.out.printf("%d slow clients, %d fast clients, virtual threads: %s%n",
+				SLOW_CLIENTS, FAST_CLIENTS, LoadTestProfiles.virtualThreads());
+		drive(WARMUP_SECONDS);
+		Map<String, EndpointStats> stats = drive(DURATION_SECONDS);
+
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("slowClients", SLOW_CLIENTS);
+		settings.put("fastClients", FAST_CLIENTS);
+		settings.put("virtualThreads", LoadTestProfiles.virtualThreads());
+		LoadTestReport report = new LoadTestReport(stats, DURATION_SECONDS, settings);
+		report.write(objectMapper, RESULT);
+		report.print(RESULT);
+		if (!BASELINE.isEmpty()) {
+			report.compareWith(objectMapper, Paths.get(BASELINE), THRESHOLD_PERCENT);
+		}
+		assertTrue(report.getFailures().isEmpty(), "Load test regressions:\n" + String.join("\n", report.getFailures()));
+	}
+
+	private Map<String, EndpointStats> drive(int seconds) throws InterruptedException {
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		stats.put(SLOW_UPDATE, new EndpointStats());
+		stats.put(FAST_NEAR, new EndpointStats());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+		// Platform threads on the client side in both modes, so only the server changes
+		ExecutorService clients = Executors.newFixedThreadPool(SLOW_CLIENTS + FAST_CLIENTS);
+		for (int i = 0; i < SLOW_CLIENTS; i++) {
+			clients.execute(() -> {
+				while (System.nanoTime() < deadline && slowStatusUpdate(stats.get(SLOW_UPDATE))) {
+					// next request
+				}
+			});
+		}
+		for (int i = 0; i < FAST_CLIENTS; i++) {
+			clients.execute(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (System.nanoTime() < deadline && client.send(client.get(String.format(
+						"/api/animals/near?latitude=%.5f&longitude=%.5f&limit=20",
+						LoadTestSeeder.CENTER_LAT + random.nextDouble(-1, 1) * LoadTestSeeder.SPREAD_DEGREES,
+						LoadTestSeeder.CENTER_LNG + random.nextDouble(-1, 1) * LoadTestSeeder.SPREAD_DEGREES)),
+						stats.get(FAST_NEAR))) {
+					// next request
+				}
+			});
+		}
+		clients.shutdown();
+		assertTrue(clients.awaitTermination(seconds + 120L, TimeUnit.SECONDS), "Clients did not finish");
+		return stats;
+	}
+
+	// Headers at once, then the body a few bytes at a time; returns false when interrupted
+	private boolean slowStatusUpdate(EndpointStats stats) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long animalId = animalIds.get(random.nextInt(animalIds.size()));
+		byte[] body = ("{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}")
+				.getBytes(StandardCharsets.US_ASCII);
+		String headers = "PUT /api/animals/" + animalId + "/status HTTP/1.1\r\n"
+				+ "Host: localhost\r\n"
+				+ "Authorization: Bearer " + tokens.get(random.nextInt(tokens.size())) + "\r\n"
+				+ "Content-Type: application/json\r\n"
+				+ "Content-Length: " + body.length + "\r\n"
+				+ "Connection: close\r\n\r\n";
+
+		long start = System.nanoTime();
+		try (Socket socket = new Socket("localhost", client.getPort())) {
+			socket.setTcpNoDelay(true);
+			socket.setSoTimeout(60_000);
+			OutputStream out = socket.getOutputStream();
+			out.write(headers.getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			int chunk = (body.length + CHUNKS - 1) / CHUNKS;
+			for (int offset = 0; offset < body.length; offset += chunk) {
+				Thread.sleep(CHUNK_DELAY_MS);
+				out.write(body, offset, Math.min(chunk, body.length - offset));
+				out.flush();
+			}
+			InputStream in = socket.getInputStream();
+			int status = readStatus(in);
+			in.transferTo(OutputStream.nullOutputStream());
+			stats.record(System.nanoTime() - start, status);
+			return true;
+		} catch (IOException e) {
+			stats.recordFailure();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	// "HTTP/1.1 200 " -> 200
+	private static int readStatus(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int b;
+		while ((b = in.read()) != -1 && b != '\n') {
+			line.append((char) b);
+		}
+		String[] parts = line.toString().split(" ");
+		if (parts.length < 2) {
+			throw new IOException("No HTTP status line: " + line);
+		}
+		return Integer.parseInt(parts[1].trim());
+	}
+}
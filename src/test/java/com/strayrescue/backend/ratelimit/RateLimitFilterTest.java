@@ -0,0 +1,76 @@
+package com.strayrescue.backend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Throttled requests get 429 with Retry-After; clients are told apart by
+ * signed-in user, or by address when anonymous.
+ */
+class RateLimitFilterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(List.of(
+			new RateLimitRule("search", 1, 2, antMatcher("/api/animals/search/**"))), 1000, meterRegistry),
+			meterRegistry);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void anonymousClientsAreLimitedPerAddress() throws Exception {
+		assertEquals(200, search("10.0.0.1").getStatus());
+		assertEquals(200, search("10.0.0.1").getStatus());
+
+		MockHttpServletResponse throttled = search("10.0.0.1");
+		assertEquals(429, throttled.getStatus());
+		assertEquals("1", throttled.getHeader("Retry-After"));
+		assertEquals(1.0, meterRegistry.get("http.server.requests.throttled").tag("group", "search").counter().count());
+
+		assertEquals(200, search("10.0.0.2").getStatus());
+	}
+
+	@Test
+	void signedInClientsAreLimitedPerUser() throws Exception {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+		search("10.0.0.1");
+		search("10.0.0.2");
+
+		// Same user from a third address is still over the limit
+		assertEquals(429, search("10.0.0.3").getStatus());
+	}
+
+	@Test
+	void routesOutsideEveryGroupAreNotLimited() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/animals/42");
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(request, response, new MockFilterChain());
+			assertEquals(200, response.getStatus());
+		}
+	}
+
+	private MockHttpServletResponse search(String address) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/animals/search");
+		request.setServletPath("/api/animals/search");
+		request.setRemoteAddr(address);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
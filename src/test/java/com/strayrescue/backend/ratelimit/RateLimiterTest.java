@@ -0,0 +1,130 @@
+package com.strayrescue.backend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Limits must hold exactly under heavy concurrent use of one bucket, and
+ * clients sharing the limiter must not take each other's permits.
+ */
+class RateLimiterTest {
+
+	private static final int THREADS = 16;
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private final RateLimitRule rule = new RateLimitRule("test", 10, 20, AnyRequestMatcher.INSTANCE);
+
+	@Test
+	void concurrentRequestsFromOneClientNeverExceedTheBurst() throws Exception {
+		RateLimiter limiter = limiter(1000);
+		int attemptsPerThread = 50_000;
+
+		long admitted = sum(runConcurrently(() -> countAdmitted(limiter, "ip:10.0.0.1", attemptsPerThread)));
+
+		// The clock is frozen, so exactly the burst is available however the threads interleave
+		assertEquals(20, admitted);
+
+		// Each refill is handed out exactly once as well
+		for (int second = 0; second < 5; second++) {
+			clock.addAndGet(SECOND);
+			assertEquals(10, sum(runConcurrently(() -> countAdmitted(limiter, "ip:10.0.0.1", 100))));
+		}
+	}
+
+	@Test
+	void manyClientsAreLimitedIndependently() throws Exception {
+		RateLimiter limiter = limiter(100_000);
+		int clientsPerThread = 2_000;
+
+		List<Long> admitted = runConcurrently(() -> {
+			long total = 0;
+			String prefix = "ip:" + Thread.currentThread().getId() + ".";
+			for (int client = 0; client < clientsPerThread; client++) {
+				total += countAdmitted(limiter, prefix + client, 25);
+			}
+			return total;
+		});
+
+		// Every client gets its full burst and not a permit more
+		admitted.forEach(perThread -> assertEquals((long) clientsPerThread * 20, perThread));
+	}
+
+	@Test
+	void rejectionSaysWhenToRetry() {
+		RateLimiter limiter = limiter(1000);
+		for (int i = 0; i < 20; i++) {
+			assertEquals(0, limiter.tryAcquire(rule, "user:alice"));
+		}
+
+		assertEquals(SECOND / 10, limiter.tryAcquire(rule, "user:alice"));
+		clock.addAndGet(SECOND / 20);
+		assertEquals(SECOND / 20, limiter.tryAcquire(rule, "user:alice"));
+		clock.addAndGet(SECOND / 20);
+		assertEquals(0, limiter.tryAcquire(rule, "user:alice"));
+		assertEquals(0, limiter.tryAcquire(rule, "user:bob"));
+	}
+
+	@Test
+	void bucketsAreBoundedAndIdleOnesExpire() {
+		RateLimiter limiter = limiter(100);
+		for (int client = 0; client < 10_000; client++) {
+			limiter.tryAcquire(rule, "ip:" + client);
+		}
+		assertTrue(limiter.bucketCount() <= 100);
+
+		// A full refill (burst / rate = 2s) after the last request the bucket is gone
+		clock.addAndGet(2 * SECOND + 1);
+		assertEquals(0, limiter.bucketCount());
+	}
+
+	private RateLimiter limiter(long maxClients) {
+		return new RateLimiter(List.of(rule), maxClients, new SimpleMeterRegistry(), clock::get);
+	}
+
+	private long countAdmitted(RateLimiter limiter, String client, int attempts) {
+		long admitted = 0;
+		for (int i = 0; i < attempts; i++) {
+			if (limiter.tryAcquire(rule, client) == 0) {
+				admitted++;
+			}
+		}
+		return admitted;
+	}
+
+	private static List<Long> runConcurrently(Callable<Long> task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch ready = new CountDownLatch(THREADS);
+		List<Future<Long>> futures = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			futures.add(pool.submit(() -> {
+				ready.countDown();
+				ready.await();
+				return task.call();
+			}));
+		}
+		List<Long> results = new ArrayList<>();
+		for (Future<Long> future : futures) {
+			results.add(future.get(60, TimeUnit.SECONDS));
+		}
+		pool.shutdown();
+		return results;
+	}
+
+	private static long sum(List<Long> values) {
+		return values.stream().mapToLong(Long::longValue).sum();
+	}
+}
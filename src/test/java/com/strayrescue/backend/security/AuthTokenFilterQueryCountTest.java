@@ -0,0 +1,130 @@
+package com.strayrescue.backend.security;
+
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.model.UserRole;
+import com.strayrescue.backend.repository.UserRepository;
+import com.strayrescue.backend.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Authenticated requests must not look the user up once the principal for
+ * their token is cached, and user changes must be visible on the next request.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.show-sql=false",
+	"app.jwtSecret=test-secret-that-is-at-least-32-bytes-long"
+})
+@Import({AuthTokenFilter.class, JwtUtils.class, CustomUserDetailsService.class, PrincipalCache.class,
+		UserService.class, PasswordHashingExecutor.class, BCryptPasswordEncoder.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuthTokenFilterQueryCountTest {
+
+	private static final int REQUESTS = 200;
+
+	@Autowired
+	private AuthTokenFilter authTokenFilter;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void cleanUp() {
+		ReflectionTestUtils.setField(authTokenFilter, "statelessPrincipal", false);
+		SecurityContextHolder.clearContext();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void repeatedRequestsWithOneTokenLoadTheUserOnce() throws Exception {
+		String token = tokenFor(userRepository.save(new User("cached", "cached@example.com", "password-hash")));
+		Statistics statistics = startCounting();
+
+		for (int i = 0; i < REQUESTS; i++) {
+			assertEquals("cached", authenticate(token).getName());
+		}
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void roleChangeIsSeenOnTheNextRequest() throws Exception {
+		User user = userRepository.save(new User("promoted", "promoted@example.com", "password-hash"));
+		String token = tokenFor(user);
+		assertTrue(hasRole(authenticate(token), "ROLE_USER"));
+
+		userService.updateUserRole(user.getId(), UserRole.MODERATOR);
+
+		assertTrue(hasRole(authenticate(token), "ROLE_MODERATOR"));
+	}
+
+	@Test
+	void statelessModeNeverQueries() throws Exception {
+		String token = tokenFor(userRepository.save(new User("stateless", "stateless@example.com", "password-hash")));
+		ReflectionTestUtils.setField(authTokenFilter, "statelessPrincipal", true);
+		Statistics statistics = startCounting();
+
+		Authentication authentication = authenticate(token);
+
+		assertEquals("stateless", authentication.getName());
+		assertTrue(hasRole(authentication, "ROLE_USER"));
+		assertNotNull(((UserPrincipal) authentication.getPrincipal()).getId());
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	private Authentication authenticate(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader("Authorization", "Bearer " + token);
+		authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertNotNull(authentication);
+		return authentication;
+	}
+
+	private String tokenFor(User user) {
+		UserPrincipal principal = UserPrincipal.create(user);
+		return jwtUtils.generateJwtToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private static boolean hasRole(Authentication authentication, String role) {
+		return authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(role));
+	}
+
+	private Statistics startCounting() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
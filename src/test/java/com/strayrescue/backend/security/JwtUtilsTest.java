@@ -0,0 +1,114 @@
+package com.strayrescue.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The verified-token cache must only ever answer for the exact token that
+ * was verified, and only until that token expires.
+ */
+class JwtUtilsTest {
+
+	private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+	private CountingJwtUtils jwtUtils;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtils = new CountingJwtUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+		ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaxSize", 100L);
+		ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+		jwtUtils.validateConfiguration();
+
+		UserPrincipal principal = new UserPrincipal(42L, "walker", "walker@example.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	@Test
+	void repeatedTokenIsVerifiedOnce() {
+		assertEquals("walker", jwtUtils.verifyAndExtract(token).getSubject());
+		assertEquals("walker", jwtUtils.verifyAndExtract(token).getSubject());
+
+		assertEquals(1, jwtUtils.verifications);
+	}
+
+	@Test
+	void tamperedSignatureIsRefusedWhileTheOriginalIsCached() {
+		Claims cached = jwtUtils.verifyAndExtract(token);
+		assertNotNull(cached);
+
+		// A character inside the signature; the last one carries unused padding bits
+		int at = token.length() - 5;
+		String tampered = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+
+		assertNull(jwtUtils.verifyAndExtract(tampered));
+		assertNotNull(jwtUtils.verifyAndExtract(token));
+	}
+
+	@Test
+	void sameClaimsSignedWithAnotherKeyAreRefused() {
+		Claims cached = jwtUtils.verifyAndExtract(token);
+		SecretKey otherKey = Keys.hmacShaKeyFor("another-secret-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8));
+
+		String forged = Jwts.builder().claims(cached).signWith(otherKey).compact();
+
+		assertNull(jwtUtils.verifyAndExtract(forged));
+	}
+
+	@Test
+	void cachedClaimsExpireWithTheToken() throws InterruptedException {
+		// exp has one second resolution
+		Date expiration = new Date((System.currentTimeMillis() / 1000 + 2) * 1000);
+		String shortLived = signed(Jwts.builder().subject("walker").expiration(expiration));
+		assertNotNull(jwtUtils.verifyAndExtract(shortLived));
+
+		Thread.sleep(expiration.getTime() - System.currentTimeMillis() + 100);
+
+		assertNull(jwtUtils.verifyAndExtract(shortLived));
+		assertEquals(2, jwtUtils.verifications);
+	}
+
+	@Test
+	void tokenWithoutExpirationIsNeverCached() {
+		String unbounded = signed(Jwts.builder().subject("walker"));
+
+		assertEquals("walker", jwtUtils.verifyAndExtract(unbounded).getSubject());
+		assertEquals("walker", jwtUtils.verifyAndExtract(unbounded).getSubject());
+
+		assertEquals(2, jwtUtils.verifications);
+	}
+
+	private static String signed(JwtBuilder builder) {
+		return builder.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+	}
+
+	// Counts the signature checks that were not answered from the cache
+	private static class CountingJwtUtils extends JwtUtils {
+		int verifications;
+
+		@Override
+		Claims verify(String token) {
+			verifications++;
+			return super.verify(token);
+		}
+	}
+}
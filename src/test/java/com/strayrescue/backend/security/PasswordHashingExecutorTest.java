@@ -0,0 +1,66 @@
+package com.strayrescue.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Login bursts must be turned away instead of queueing without bound.
+ */
+class PasswordHashingExecutorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private PasswordHashingExecutor executor;
+
+	@BeforeEach
+	void createExecutor() {
+		executor = new PasswordHashingExecutor();
+		ReflectionTestUtils.setField(executor, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(executor, "threads", 1);
+		ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+		executor.start();
+	}
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void saturatedPoolRejectsInsteadOfQueueing() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> running = executor.submit(() -> {
+			started.countDown();
+			await(release);
+			return "first";
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = executor.submit(() -> "second");
+
+		assertThrows(PasswordHashingBusyException.class, () -> executor.submit(() -> "third"));
+		assertEquals(1.0, meterRegistry.get("auth.password.rejected").counter().count());
+		assertEquals(1.0, meterRegistry.get("auth.password.queue.depth").gauge().value());
+
+		release.countDown();
+		assertEquals("first", running.get(5, TimeUnit.SECONDS));
+		assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+		assertEquals(2, meterRegistry.get("auth.password.hashing.time").timer().count());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.strayrescue.backend.security;
+
+import com.strayrescue.backend.config.WebSecurityConfig;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A raised BCrypt cost must reach existing users at their next login,
+ * through the provider WebSecurityConfig builds.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.show-sql=false"
+})
+@Import(CustomUserDetailsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PasswordRehashTest {
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void cleanUp() {
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void loginRehashesPasswordStoredWithLowerCost() {
+		userRepository.save(new User("walker", "walker@example.com", new BCryptPasswordEncoder(4).encode("secret")));
+
+		authenticationProvider(5).authenticate(new UsernamePasswordAuthenticationToken("walker", "secret"));
+
+		String stored = userRepository.findByUsername("walker").orElseThrow().getPasswordHash();
+		assertTrue(stored.startsWith("$2a$05$"), stored);
+		assertTrue(new BCryptPasswordEncoder(5).matches("secret", stored));
+	}
+
+	@Test
+	void loginKeepsPasswordStoredWithCurrentCost() {
+		String hash = new BCryptPasswordEncoder(5).encode("secret");
+		userRepository.save(new User("walker", "walker@example.com", hash));
+
+		authenticationProvider(5).authenticate(new UsernamePasswordAuthenticationToken("walker", "secret"));
+
+		assertEquals(hash, userRepository.findByUsername("walker").orElseThrow().getPasswordHash());
+	}
+
+	private DaoAuthenticationProvider authenticationProvider(int bcryptStrength) {
+		WebSecurityConfig config = new WebSecurityConfig();
+		ReflectionTestUtils.setField(config, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(config, "bcryptStrength", bcryptStrength);
+		return config.authenticationProvider();
+	}
+}
@@ -0,0 +1,60 @@
+package com.strayrescue.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A principal loaded before its user changed must not outlive the eviction.
+ */
+class PrincipalCacheTest {
+
+	private static final Date ISSUED_AT = new Date(1_700_000_000_000L);
+
+	private PrincipalCache cache;
+
+	@BeforeEach
+	void createCache() {
+		cache = new PrincipalCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		cache.start();
+	}
+
+	@Test
+	void cachesPrincipalPerToken() {
+		cache.get("alice", ISSUED_AT, () -> principal("ROLE_ADMIN"));
+
+		UserDetails cached = cache.get("alice", ISSUED_AT, () -> fail("should be cached"));
+
+		assertEquals("ROLE_ADMIN", cached.getAuthorities().iterator().next().getAuthority());
+	}
+
+	@Test
+	void principalLoadedBeforeRoleChangeIsNotCached() {
+		// The admin role is revoked while the old principal is being loaded
+		cache.get("alice", ISSUED_AT, () -> {
+			UserDetails stale = principal("ROLE_ADMIN");
+			cache.evict("alice");
+			return stale;
+		});
+
+		UserDetails reloaded = cache.get("alice", ISSUED_AT, () -> principal("ROLE_USER"));
+
+		assertEquals("ROLE_USER", reloaded.getAuthorities().iterator().next().getAuthority());
+	}
+
+	private static UserDetails principal(String role) {
+		return new User("alice", "hash", List.of(new SimpleGrantedAuthority(role)));
+	}
+}
@@ -0,0 +1,137 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.config.FullTextIndexInitializer;
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.geo.ActiveAnimalIndex;
+import com.strayrescue.backend.mapper.AnimalImageMapperImpl;
+import com.strayrescue.backend.mapper.AnimalMapper;
+import com.strayrescue.backend.mapper.UserMapper;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The number of SQL statements per list request must not depend on how many
+ * animals are returned.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.show-sql=false"
+})
+@Import({AnimalService.class, FullTextIndexInitializer.class, ActiveAnimalIndex.class, AnimalReadCache.class, DuplicateReportDetector.class, AnimalStatsService.class, SimpleMeterRegistry.class,
+		AnimalMapper.class, UserMapper.class, AnimalImageMapperImpl.class})
+class AnimalQueryCountTest {
+
+	private static final int IMAGES_PER_ANIMAL = 3;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AnimalService animalService;
+
+	@Autowired
+	private AnimalMapper animalMapper;
+
+	@Autowired
+	private ActiveAnimalIndex activeAnimalIndex;
+
+	@Autowired
+	private AnimalReadCache readCache;
+
+	@ParameterizedTest
+	@ValueSource(ints = {5, 60})
+	void nearQueryUsesConstantStatements(int animalCount) {
+		seed(animalCount);
+		activeAnimalIndex.warmUp();
+		Statistics statistics = startCounting();
+
+		List<Animal> animals = animalService.findAnimalsNearLocation(42.6977, 23.3219, 50.0, null);
+		animalMapper.toDtoList(animals).forEach(dto -> assertEquals(IMAGES_PER_ANIMAL, dto.getImages().size()));
+
+		assertEquals(animalCount, animals.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	// /near?limit=N without radiusKm: the k nearest at any distance, through the cache
+	@ParameterizedTest
+	@ValueSource(ints = {5, 60})
+	void nearestWithoutRadiusUsesConstantStatements(int animalCount) {
+		seed(animalCount);
+		activeAnimalIndex.warmUp();
+		Statistics statistics = startCounting();
+
+		List<AnimalDto> animals = animalService.findAnimalDtosNearLocation(42.6977, 23.3219, null, 3);
+
+		assertEquals(3, animals.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {5, 60})
+	void listPageUsesConstantStatements(int animalCount) {
+		seed(animalCount);
+		Statistics statistics = startCounting();
+
+		var page = animalService.getAnimalPage(null, 100);
+
+		assertEquals(animalCount, page.getItems().size());
+		page.getItems().forEach(item -> assertNotNull(item.getPrimaryImageUrl()));
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	private Statistics startCounting() {
+		entityManager.flush();
+		entityManager.clear();
+		readCache.invalidateAll();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+	private void seed(int animalCount) {
+		User reporter = new User("reporter", "reporter@example.com", "password-hash");
+		entityManager.persist(reporter);
+		User caretaker = new User("caretaker", "caretaker@example.com", "password-hash");
+		entityManager.persist(caretaker);
+
+		for (int i = 0; i < animalCount; i++) {
+			Animal animal = new Animal("Animal " + i, "Dog", "Friendly", reporter);
+			animal.setStatus(AnimalStatus.REPORTED);
+			animal.setCurrentCaretaker(caretaker);
+			animal.setLatitude(BigDecimal.valueOf(42.6977 + i * 0.001));
+			animal.setLongitude(BigDecimal.valueOf(23.3219));
+			entityManager.persist(animal);
+
+			for (int j = 0; j < IMAGES_PER_ANIMAL; j++) {
+				AnimalImage image = new AnimalImage("photo.jpg", "animals/" + i + "/" + j, "https://img/" + i + "/" + j, animal, reporter);
+				image.setIsPrimary(j == 0);
+				entityManager.persist(image);
+				if (j == 0) {
+					animal.setPrimaryImageId(image.getId());
+				}
+			}
+		}
+	}
+}
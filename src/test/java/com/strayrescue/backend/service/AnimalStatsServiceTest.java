@@ -0,0 +1,181 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.cache.AnimalReadCache;
+import com.strayrescue.backend.config.FullTextIndexInitializer;
+import com.strayrescue.backend.dto.response.PeriodStatDto;
+import com.strayrescue.backend.dto.response.ReporterStatDto;
+import com.strayrescue.backend.dto.response.StatsSummaryDto;
+import com.strayrescue.backend.geo.ActiveAnimalIndex;
+import com.strayrescue.backend.mapper.AnimalImageMapperImpl;
+import com.strayrescue.backend.mapper.AnimalMapper;
+import com.strayrescue.backend.mapper.UserMapper;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalDailyStatRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.AnimalStatusTotalRepository;
+import com.strayrescue.backend.repository.ReporterStatRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rollups kept up to date by animal writes must match a rebuild from the
+ * base tables, and reading them must not depend on the number of animals.
+ */
+@DataJpaTest(properties = {
+	"spring.test.database.replace=none",
+	// MariaDB mode for the ON DUPLICATE KEY UPDATE upserts
+	"spring.datasource.url=jdbc:h2:mem:stats;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.show-sql=false"
+})
+@Import({AnimalService.class, FullTextIndexInitializer.class, AnimalStatsService.class, ActiveAnimalIndex.class, AnimalReadCache.class,
+		DuplicateReportDetector.class, SimpleMeterRegistry.class, AnimalMapper.class, UserMapper.class,
+		AnimalImageMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnimalStatsServiceTest {
+
+	@Autowired
+	private AnimalService animalService;
+
+	@Autowired
+	private AnimalStatsService statsService;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AnimalDailyStatRepository dailyStatRepository;
+
+	@Autowired
+	private AnimalStatusTotalRepository statusTotalRepository;
+
+	@Autowired
+	private ReporterStatRepository reporterStatRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@AfterEach
+	void cleanUp() {
+		animalRepository.deleteAll();
+		userRepository.deleteAll();
+		dailyStatRepository.deleteAll();
+		statusTotalRepository.deleteAll();
+		reporterStatRepository.deleteAll();
+	}
+
+	@Test
+	void writesKeepRollupsInSyncWithBaseTables() {
+		User alice = userRepository.save(new User("alice", "alice@example.com", "password-hash"));
+		User bob = userRepository.save(new User("bob", "bob@example.com", "password-hash"));
+
+		Animal rex = report("Dog", alice);
+		report("dog ", alice);
+		Animal tom = report("Cat", alice);
+		Animal tweety = report("Bird", bob);
+
+		animalService.updateAnimalStatus(rex.getId(), AnimalStatus.IN_CARE);
+		animalService.updateAnimalStatus(rex.getId(), AnimalStatus.ADOPTED);
+		animalService.updateAnimal(tom.getId(), "Tom", "Dog", null, null);
+		animalService.deleteAnimal(tweety.getId());
+
+		StatsSummaryDto summary = statsService.getSummary();
+		assertEquals(3, summary.getTotal());
+		assertEquals(3, summary.getBySpecies().get("dog"));
+		assertNull(summary.getBySpecies().get("cat"));
+		assertNull(summary.getBySpecies().get("bird"));
+		assertEquals(2, summary.getByStatus().get(AnimalStatus.REPORTED));
+		assertEquals(1, summary.getByStatus().get(AnimalStatus.ADOPTED));
+		assertEquals(2, animalService.countAnimalsByStatus(AnimalStatus.REPORTED));
+
+		List<PeriodStatDto> today = statsService.getReportsOverTime(LocalDate.now(), LocalDate.now(), "DOG", false);
+		assertEquals(3, today.stream().mapToLong(PeriodStatDto::getCount).sum());
+
+		List<ReporterStatDto> reporters = statsService.getTopReporters(10);
+		assertEquals("alice", reporters.get(0).getUsername());
+		assertEquals(3, reporters.get(0).getReportedCount());
+		assertNotNull(reporters.get(0).getLastReportedAt());
+		assertEquals(1, reporters.size(), "bob's only animal was deleted");
+
+		assertTrue(statsService.rebuild());
+		assertEquals(summary.getBySpeciesAndStatus(), statsService.getSummary().getBySpeciesAndStatus());
+		assertEquals(3, statsService.getTopReporters(10).get(0).getReportedCount());
+	}
+
+	@Test
+	void rebuildRepairsRowsWrittenAroundTheRollups() {
+		User carol = userRepository.save(new User("carol", "carol@example.com", "password-hash"));
+		ReflectionTestUtils.setField(statsService, "rebuildChunkDays", 3);
+		ReflectionTestUtils.setField(statsService, "rebuildChunkUsers", 1);
+		userRepository.save(new User("dave", "dave@example.com", "password-hash"));
+
+		// Saved through the repository, so no rollup deltas
+		LocalDateTime start = LocalDate.now().minusDays(20).atTime(12, 0);
+		for (int day = 0; day < 20; day++) {
+			Animal animal = new Animal("Stray " + day, day % 2 == 0 ? "Dog" : "Cat", null, carol);
+			animal.setStatus(AnimalStatus.REPORTED);
+			animal.setCreatedAt(start.plusDays(day));
+			animalRepository.save(animal);
+		}
+		// A stale rollup day with no animals left
+		dailyStatRepository.increment(LocalDate.now().minusDays(40), "dog", "REPORTED", 5);
+
+		assertTrue(statsService.rebuild());
+
+		StatsSummaryDto summary = statsService.getSummary();
+		assertEquals(20, summary.getTotal());
+		assertEquals(10, summary.getBySpecies().get("dog"));
+		assertEquals(10, summary.getBySpecies().get("cat"));
+		assertTrue(dailyStatRepository.findBetween(LocalDate.now().minusDays(40), LocalDate.now().minusDays(40)).isEmpty());
+
+		List<PeriodStatDto> weekly = statsService.getReportsOverTime(start.toLocalDate(), LocalDate.now(), null, true);
+		assertEquals(20, weekly.stream().mapToLong(PeriodStatDto::getCount).sum());
+		weekly.forEach(row -> assertEquals(java.time.DayOfWeek.MONDAY, row.getPeriodStart().getDayOfWeek()));
+
+		assertEquals(20, statsService.getTopReporters(5).get(0).getReportedCount());
+	}
+
+	@Test
+	void summaryIsOneQueryRegardlessOfAnimalCount() {
+		User erin = userRepository.save(new User("erin", "erin@example.com", "password-hash"));
+		for (int i = 0; i < 30; i++) {
+			report(i % 3 == 0 ? "Cat" : "Dog", erin);
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		assertEquals(30, statsService.getSummary().getTotal());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private Animal report(String species, User reporter) {
+		return animalService.reportAnimal("Stray", species, null, 42.69, 23.32, null, AnimalStatus.REPORTED, reporter);
+	}
+}
@@ -0,0 +1,143 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalStatus;
+import com.strayrescue.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A new report must surface the animal it most likely describes again, and
+ * nothing of another species, too far away, not seen for weeks or no longer
+ * on the map.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.show-sql=false"
+})
+@Import(DuplicateReportDetector.class)
+class DuplicateReportDetectorTest {
+
+	private static final double LAT = 42.6977;
+	private static final double LNG = 23.3219;
+	// About 110 m of latitude
+	private static final double STEP = 0.001;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private DuplicateReportDetector detector;
+
+	private User reporter;
+
+	@BeforeEach
+	void createReporter() {
+		reporter = new User("reporter", "reporter@example.com", "password-hash");
+		entityManager.persist(reporter);
+	}
+
+	@Test
+	void ranksCloseSimilarReportsFirstAndSkipsTheRest() {
+		Animal sameDog = animal("Dog", LAT + 2 * STEP, LNG, "Black dog with a red collar", "near the park fountain", 1);
+		Animal otherDog = animal("Dog", LAT + STEP, LNG, "Small white puppy", "bus stop", 2);
+		animal("Dog", LAT + 30 * STEP, LNG, "Black dog with a red collar", "park", 1);
+		animal("Cat", LAT, LNG, "Black cat with a red collar", "park fountain", 1);
+		animal("Dog", LAT, LNG, "Black dog with a red collar", "park fountain", 60);
+		animal("Dog", LAT, LNG, "Black dog with a red collar", "park fountain", 1).setStatus(AnimalStatus.ADOPTED);
+		Statistics statistics = startCounting();
+
+		List<DuplicateReportDetector.Candidate> candidates = detector.findCandidates(
+				"Dog", LAT, LNG, "Big black dog, red collar", "Park fountain");
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(List.of(sameDog.getId(), otherDog.getId()),
+				candidates.stream().map(c -> c.getAnimal().getId()).toList());
+		assertTrue(candidates.get(0).getTextSimilarity() > 0.5);
+		assertEquals(0.0, candidates.get(1).getTextSimilarity());
+	}
+
+	@Test
+	void oldReportSeenRecentlyIsStillACandidate() {
+		Animal resident = animal("Dog", LAT, LNG, "Old brown dog", "market", 300);
+		resident.setLastSeenAt(LocalDateTime.now().minusDays(2));
+		startCounting();
+
+		assertEquals(resident.getId(), detector.findCandidates("Dog", LAT, LNG, null, null).get(0).getAnimal().getId());
+	}
+
+	// One statement per lookup, reading only the rows around the report, well
+	// inside a latency budget that leaves room for slow CI machines
+	@Test
+	void lookupStaysFastOnABusyCity() {
+		Random random = new Random(7);
+		String[] species = {"Dog", "Cat", "Bird"};
+		for (int i = 0; i < 20_000; i++) {
+			animal(species[random.nextInt(species.length)],
+					LAT + (random.nextDouble() - 0.5) * 0.3, LNG + (random.nextDouble() - 0.5) * 0.3,
+					"Stray number " + i, "street " + random.nextInt(500), random.nextInt(90));
+			if (i % 1000 == 0) {
+				entityManager.flush();
+				entityManager.clear();
+				reporter = entityManager.find(User.class, reporter.getId());
+			}
+		}
+		Statistics statistics = startCounting();
+
+		long[] nanos = new long[1000];
+		for (int i = 0; i < nanos.length; i++) {
+			double lat = LAT + (random.nextDouble() - 0.5) * 0.2;
+			double lng = LNG + (random.nextDouble() - 0.5) * 0.2;
+			long start = System.nanoTime();
+			detector.findCandidates("Dog", lat, lng, "Stray near the street", "street 12");
+			nanos[i] = System.nanoTime() - start;
+			entityManager.clear();
+		}
+		Arrays.sort(nanos);
+
+		assertEquals(nanos.length, statistics.getPrepareStatementCount());
+		// About a dozen recent dogs fall in the 1 km box at this density; a scan would load thousands
+		assertTrue(statistics.getEntityLoadCount() < 50L * nanos.length,
+				"loaded " + statistics.getEntityLoadCount() + " animals");
+		double p99Ms = nanos[nanos.length * 99 / 100] / 1e6;
+		assertTrue(p99Ms < 250, "p99 " + p99Ms + " ms");
+	}
+
+	private Animal animal(String species, double lat, double lng, String description, String location, int daysAgo) {
+		Animal animal = new Animal("Stray", species, description, reporter);
+		animal.setLatitude(BigDecimal.valueOf(lat));
+		animal.setLongitude(BigDecimal.valueOf(lng));
+		animal.setLocationDescription(location);
+		animal.setCreatedAt(LocalDateTime.now().minusDays(daysAgo));
+		animal.setLastSeenAt(animal.getCreatedAt());
+		entityManager.persist(animal);
+		return animal;
+	}
+
+	private Statistics startCounting() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
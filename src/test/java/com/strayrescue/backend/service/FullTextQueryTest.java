@@ -0,0 +1,38 @@
+package com.strayrescue.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Free text to MariaDB boolean-mode expressions.
+ */
+class FullTextQueryTest {
+
+	@Test
+	void everyWordBecomesAnOptionalPrefixTerm() {
+		assertEquals("limping* brown* dog*", AnimalService.toFullTextQuery("Limping  brown DOG"));
+	}
+
+	@Test
+	void wordsBelowTheIndexTokenLengthAreDropped() {
+		assertEquals("the* cat*", AnimalService.toFullTextQuery("a to the cat"));
+		assertNull(AnimalService.toFullTextQuery("a to"));
+	}
+
+	@Test
+	void booleanOperatorsAndPunctuationAreNotPassedThrough() {
+		assertEquals("dog* cat* puppy*", AnimalService.toFullTextQuery("+dog -\"cat\" (puppy)~*"));
+	}
+
+	@Test
+	void keepsCyrillicLettersAndDigits() {
+		assertEquals("куче* сиво* 112*", AnimalService.toFullTextQuery("Куче, сиво; 112"));
+	}
+
+	@Test
+	void nothingToSearchForIsNull() {
+		assertNull(AnimalService.toFullTextQuery(null));
+		assertNull(AnimalService.toFullTextQuery("  ,;- "));
+	}
+}
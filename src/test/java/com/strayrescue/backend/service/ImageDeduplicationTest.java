@@ -0,0 +1,174 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same photo uploaded twice is processed and stored once, and the stored
+ * files are removed only when the last image referencing them is deleted
+ * and that delete has committed.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.show-sql=false",
+	"app.images.storage=filesystem"
+})
+@Import({ImageUploadService.class, ImageProcessingExecutor.class, ImageProcessor.class,
+		FileSystemImageStorage.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImageDeduplicationTest {
+
+	@TempDir
+	static Path storageDir;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("app.images.local-dir", storageDir::toString);
+	}
+
+	@Autowired
+	private ImageUploadService imageUploadService;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private AnimalImageRepository animalImageRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		animalImageRepository.deleteAll();
+		animalRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void identicalUploadReusesStoredVariants() throws Exception {
+		User user = userRepository.save(new User("uploader", "uploader@example.com", "password-hash"));
+		Animal first = animalRepository.save(new Animal("First", "Dog", "Friendly", user));
+		Animal second = animalRepository.save(new Animal("Second", "Dog", "Friendly", user));
+		byte[] photo = photo(Color.ORANGE);
+
+		AnimalImage original = awaitProcessed(imageUploadService.uploadSingleImage(first, upload(photo), user).getId());
+		long storedFiles = storedFileCount();
+		assertEquals(3, storedFiles);
+
+		AnimalImage duplicate = imageUploadService.uploadSingleImage(second, upload(photo), user);
+
+		assertEquals(ImageStatus.READY, duplicate.getStatus());
+		assertEquals(original.getS3Key(), duplicate.getS3Key());
+		assertEquals(original.getThumbnailS3Key(), duplicate.getThumbnailS3Key());
+		assertEquals(original.getContentHash(), duplicate.getContentHash());
+		assertEquals(storedFiles, storedFileCount());
+
+		AnimalImage different = awaitProcessed(
+				imageUploadService.uploadSingleImage(second, upload(photo(Color.BLUE)), user).getId());
+		assertNotEquals(original.getS3Key(), different.getS3Key());
+		assertEquals(storedFiles + 3, storedFileCount());
+
+		imageUploadService.deleteImage(original.getId());
+		assertEquals(storedFiles + 3, storedFileCount(), "still referenced by the duplicate");
+
+		imageUploadService.deleteImage(duplicate.getId());
+		assertEquals(3, storedFileCount());
+	}
+
+	@Test
+	void rolledBackDeleteKeepsStoredVariants() throws Exception {
+		User user = userRepository.save(new User("uploader", "uploader@example.com", "password-hash"));
+		Animal animal = animalRepository.save(new Animal("Only", "Cat", "Shy", user));
+		AnimalImage image = awaitProcessed(
+				imageUploadService.uploadSingleImage(animal, upload(photo(Color.GREEN)), user).getId());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			imageUploadService.deleteImage(image.getId());
+			assertEquals(3, storedFileCountUnchecked(), "deleted only after commit");
+			status.setRollbackOnly();
+		});
+
+		assertTrue(animalImageRepository.existsById(image.getId()));
+		assertEquals(3, storedFileCount());
+
+		imageUploadService.deleteImage(image.getId());
+		assertEquals(0, storedFileCount());
+	}
+
+	private AnimalImage awaitProcessed(Long imageId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (System.currentTimeMillis() < deadline) {
+			AnimalImage image = animalImageRepository.findById(imageId).orElseThrow();
+			if (image.getStatus() == ImageStatus.READY) {
+				return image;
+			}
+			assertNotEquals(ImageStatus.FAILED, image.getStatus(), image.getFailureReason());
+			Thread.sleep(20);
+		}
+		throw new AssertionError("Image " + imageId + " was not processed in time");
+	}
+
+	private static MockMultipartFile upload(byte[] photo) {
+		return new MockMultipartFile("files", "photo.jpg", "image/jpeg", photo);
+	}
+
+	private static byte[] photo(Color color) throws IOException {
+		BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		graphics.fillRect(0, 0, 640, 480);
+		graphics.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", out);
+		return out.toByteArray();
+	}
+
+	private static long storedFileCountUnchecked() {
+		try {
+			return storedFileCount();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static long storedFileCount() throws IOException {
+		try (Stream<Path> files = Files.walk(storageDir)) {
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+}
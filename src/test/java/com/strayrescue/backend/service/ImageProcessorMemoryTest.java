@@ -0,0 +1,129 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.model.ImageVariant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Processing a 12 megapixel photo must allocate far less than its fully
+ * decoded raster, and must still produce correctly sized variants. Images
+ * over the size budget are refused before decoding.
+ */
+class ImageProcessorMemoryTest {
+
+	private static final int WIDTH = 4000;
+	private static final int HEIGHT = 3000;
+
+	private static Path photo;
+
+	@BeforeAll
+	static void createPhoto() throws IOException {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, Color.ORANGE, WIDTH, HEIGHT, Color.BLUE));
+		g.fillRect(0, 0, WIDTH, HEIGHT);
+		g.dispose();
+
+		photo = Files.createTempFile("large-photo", ".jpg");
+		ImageIO.write(image, "jpg", photo.toFile());
+	}
+
+	@AfterAll
+	static void deletePhoto() throws IOException {
+		Files.deleteIfExists(photo);
+	}
+
+	@Test
+	void producesEveryVariantAtItsSize() throws Exception {
+		ImageProcessor processor = newProcessor();
+		Map<ImageVariant, BufferedImage> variants = new EnumMap<>(ImageVariant.class);
+
+		processor.writeVariants(processor.decode(photo), (variant, data, length) ->
+				variants.put(variant, ImageIO.read(new ByteArrayInputStream(data, 0, length))));
+
+		for (ImageVariant variant : ImageVariant.values()) {
+			BufferedImage image = variants.get(variant);
+			assertEquals(variant.getMaxSize(), image.getWidth(), variant.name());
+			assertEquals(variant.getMaxSize() * HEIGHT / WIDTH, image.getHeight(), 1, variant.name());
+		}
+	}
+
+	@Test
+	void allocatesLessThanFullDecode() throws Exception {
+		ImageProcessor processor = newProcessor();
+		// Warm up ImageIO so one-time class/native setup is not counted
+		processor.writeVariants(processor.decode(photo), (variant, data, length) -> { });
+
+		long before = allocatedBytes();
+		processor.writeVariants(processor.decode(photo), (variant, data, length) -> { });
+		long allocated = allocatedBytes() - before;
+
+		long fullRasterBytes = (long) WIDTH * HEIGHT * 3;
+		assertTrue(allocated < fullRasterBytes * 6 / 10, "allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void rejectsHugeImageFromItsHeaderAlone() throws Exception {
+		// A few dozen bytes claiming 30000x30000 pixels: 3.6 GB if it were decoded
+		Path bomb = Files.createTempFile("huge-header", ".png");
+		try {
+			Files.write(bomb, pngHeader(30_000, 30_000));
+			long before = allocatedBytes();
+
+			IOException error = assertThrows(IOException.class, () -> newProcessor().decode(bomb));
+
+			assertTrue(error.getMessage().contains("30000x30000"), error.getMessage());
+			assertTrue(allocatedBytes() - before < 16 * 1024 * 1024, "decoded before checking the size");
+		} finally {
+			Files.deleteIfExists(bomb);
+		}
+	}
+
+	// PNG signature, IHDR (8-bit RGB) and IEND; no pixel data
+	private static byte[] pngHeader(int width, int height) {
+		ByteBuffer png = ByteBuffer.allocate(8 + 25 + 12);
+		png.put(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+		ByteBuffer ihdr = ByteBuffer.allocate(13).putInt(width).putInt(height).put(new byte[] {8, 2, 0, 0, 0});
+		putChunk(png, "IHDR", ihdr.array());
+		putChunk(png, "IEND", new byte[0]);
+		return png.array();
+	}
+
+	private static void putChunk(ByteBuffer png, String type, byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(type.getBytes(StandardCharsets.US_ASCII));
+		crc.update(data);
+		png.putInt(data.length).put(type.getBytes(StandardCharsets.US_ASCII)).put(data).putInt((int) crc.getValue());
+	}
+
+	private static ImageProcessor newProcessor() {
+		ImageProcessor processor = new ImageProcessor();
+		ReflectionTestUtils.setField(processor, "meterRegistry", new SimpleMeterRegistry());
+		processor.registerMetrics();
+		return processor;
+	}
+
+	private static long allocatedBytes() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,133 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.ImageVariant;
+import com.strayrescue.backend.model.User;
+import com.strayrescue.backend.repository.AnimalImageRepository;
+import com.strayrescue.backend.repository.AnimalRepository;
+import com.strayrescue.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uploads interrupted by a restart are processed again from their staged
+ * file or marked FAILED, and leftover staged files are removed.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.show-sql=false",
+	"app.images.storage=filesystem",
+	"app.images.recover-after-minutes=10"
+})
+@Import({ImageUploadService.class, ImageProcessingExecutor.class, ImageProcessor.class,
+		FileSystemImageStorage.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PendingImageRecoveryTest {
+
+	@TempDir
+	static Path storageDir;
+
+	@TempDir
+	static Path stagingDir;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("app.images.local-dir", storageDir::toString);
+		registry.add("app.images.staging-dir", stagingDir::toString);
+	}
+
+	@Autowired
+	private ImageUploadService imageUploadService;
+
+	@Autowired
+	private AnimalRepository animalRepository;
+
+	@Autowired
+	private AnimalImageRepository animalImageRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void cleanUp() {
+		animalImageRepository.deleteAll();
+		animalRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void interruptedUploadsAreRequeuedOrFailed() throws Exception {
+		User user = userRepository.save(new User("uploader", "uploader@example.com", "password-hash"));
+		Animal animal = animalRepository.save(new Animal("Patch", "Dog", "Friendly", user));
+		LocalDateTime beforeRestart = LocalDateTime.now().minusHours(1);
+
+		AnimalImage staged = pending(animal, ImageStatus.PROCESSING, beforeRestart);
+		ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "jpg",
+				imageUploadService.stagedFileFor(staged.getId()).toFile());
+		AnimalImage lost = pending(animal, ImageStatus.PENDING, beforeRestart);
+		// Staged on another instance a moment ago, not ours to fail
+		AnimalImage recent = pending(animal, ImageStatus.PENDING, LocalDateTime.now().minusMinutes(1).minusSeconds(30));
+		Path orphan = Files.writeString(stagingDir.resolve("upload-123.jpg"), "partial");
+		Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+
+		imageUploadService.recoverPendingImages();
+
+		assertEquals(ImageStatus.FAILED, animalImageRepository.findById(lost.getId()).orElseThrow().getStatus());
+		assertFalse(Files.exists(orphan));
+		awaitStatus(staged.getId(), ImageStatus.READY);
+		assertFalse(Files.exists(imageUploadService.stagedFileFor(staged.getId())));
+		assertTrue(Files.exists(storageDir.resolve(staged.getS3Key())));
+		assertEquals(ImageStatus.PENDING, animalImageRepository.findById(recent.getId()).orElseThrow().getStatus());
+	}
+
+	private AnimalImage pending(Animal animal, ImageStatus status, LocalDateTime uploadedAt) {
+		String baseKey = "animals/" + animal.getId() + "/" + uploadedAt.getNano() + "-" + status;
+		AnimalImage image = new AnimalImage();
+		image.setFileName("photo.jpg");
+		image.setS3Key(ImageVariant.LARGE.keyFor(baseKey));
+		image.setS3Url("file:///" + image.getS3Key());
+		image.setMediumS3Key(ImageVariant.MEDIUM.keyFor(baseKey));
+		image.setThumbnailS3Key(ImageVariant.THUMBNAIL.keyFor(baseKey));
+		image.setContentType("image/jpeg");
+		image.setStatus(status);
+		image.setIsPrimary(false);
+		image.setDisplayOrder(0);
+		image.setAnimal(animal);
+		image.setUploadedAt(uploadedAt);
+		return animalImageRepository.save(image);
+	}
+
+	private void awaitStatus(Long imageId, ImageStatus status) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (System.currentTimeMillis() < deadline) {
+			AnimalImage image = animalImageRepository.findById(imageId).orElseThrow();
+			if (image.getStatus() == status) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("Image " + imageId + " did not become " + status);
+	}
+}
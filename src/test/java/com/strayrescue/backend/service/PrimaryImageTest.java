@@ -0,0 +1,228 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.dto.response.AnimalDto;
+import com.strayrescue.backend.dto.response.AnimalImageDto;
+import com.strayrescue.backend.mapper.AnimalImageMapperImpl;
+import com.strayrescue.backend.mapper.AnimalMapper;
+import com.strayrescue.backend.mapper.UserMapper;
+import com.strayrescue.backend.model.Animal;
+import com.strayrescue.backend.model.AnimalImage;
+import com.strayrescue.backend.model.ImageStatus;
+import com.strayrescue.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Switching the primary image must cost the same number of statements for
+ * any number of images, and leave exactly one primary that the animal row
+ * points at. Only READY images can be primary.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.show-sql=false",
+	"app.images.storage=filesystem"
+})
+@Import({ImageUploadService.class, ImageProcessingExecutor.class, ImageProcessor.class,
+		FileSystemImageStorage.class, SimpleMeterRegistry.class, AnimalMapper.class, UserMapper.class,
+		AnimalImageMapperImpl.class})
+class PrimaryImageTest {
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ImageUploadService imageUploadService;
+
+	@Autowired
+	private AnimalMapper animalMapper;
+
+	@ParameterizedTest
+	@ValueSource(ints = {5, 60})
+	void switchingPrimaryUsesConstantStatements(int imageCount) {
+		List<AnimalImage> images = seed(imageCount);
+		Long animalId = images.get(0).getAnimal().getId();
+		Long last = images.get(imageCount - 1).getId();
+		Statistics statistics = startCounting();
+
+		AnimalImage primary = imageUploadService.setPrimaryImage(animalId, last);
+
+		// Lock, ownership check, two updates, reload
+		assertEquals(5, statistics.getPrepareStatementCount());
+		assertTrue(primary.getIsPrimary());
+		assertPrimary(animalId, last);
+	}
+
+	@Test
+	void deletingThePrimaryPromotesTheFirstRemainingImage() {
+		List<AnimalImage> images = seed(3);
+		Long animalId = images.get(0).getAnimal().getId();
+		startCounting();
+
+		imageUploadService.deleteImage(images.get(0).getId());
+
+		assertPrimary(animalId, images.get(1).getId());
+	}
+
+	@Test
+	void deletingTheLastImageClearsThePrimary() {
+		List<AnimalImage> images = seed(1);
+		Long animalId = images.get(0).getAnimal().getId();
+		startCounting();
+
+		imageUploadService.deleteImage(images.get(0).getId());
+
+		entityManager.flush();
+		entityManager.clear();
+		assertNull(entityManager.find(Animal.class, animalId).getPrimaryImageId());
+	}
+
+	@Test
+	void imageOfAnotherAnimalIsRejected() {
+		Long animalId = seed(2).get(0).getAnimal().getId();
+		Long foreign = seed(1).get(0).getId();
+		startCounting();
+
+		assertThrows(RuntimeException.class, () -> imageUploadService.setPrimaryImage(animalId, foreign));
+
+		assertEquals(1, primaryCount(animalId));
+	}
+
+	@Test
+	void failedFirstUploadNeverBecomesPrimary() throws IOException {
+		Animal animal = seedAnimal();
+		AnimalImage broken = pendingImage(animal, 0);
+		AnimalImage photo = pendingImage(animal, 1);
+		startCounting();
+
+		imageUploadService.processPendingImage(broken.getId(), staged("not an image".getBytes()));
+		entityManager.clear();
+		assertEquals(ImageStatus.FAILED, entityManager.find(AnimalImage.class, broken.getId()).getStatus());
+		assertNull(entityManager.find(Animal.class, animal.getId()).getPrimaryImageId());
+		assertEquals(0, primaryCount(animal.getId()));
+
+		imageUploadService.processPendingImage(photo.getId(), staged(photo()));
+		assertPrimary(animal.getId(), photo.getId());
+
+		AnimalDto dto = animalMapper.toDto(entityManager.find(Animal.class, animal.getId()));
+		assertEquals(List.of(photo.getId()), dto.getImages().stream().map(AnimalImageDto::getId).toList());
+		assertNotNull(dto.getPrimaryImageUrl());
+	}
+
+	@Test
+	void primaryThatFailsHandsOnToAReadyImage() throws IOException {
+		List<AnimalImage> images = seed(2);
+		Long animalId = images.get(0).getAnimal().getId();
+		// Made primary while still pending, before primaries waited for READY
+		entityManager.find(AnimalImage.class, images.get(0).getId()).setStatus(ImageStatus.PENDING);
+		startCounting();
+
+		imageUploadService.processPendingImage(images.get(0).getId(), staged("not an image".getBytes()));
+
+		assertPrimary(animalId, images.get(1).getId());
+	}
+
+	@Test
+	void pendingImageCannotBeMadePrimary() {
+		Animal animal = seed(1).get(0).getAnimal();
+		AnimalImage pending = pendingImage(animal, 1);
+		startCounting();
+
+		assertThrows(RuntimeException.class, () -> imageUploadService.setPrimaryImage(animal.getId(), pending.getId()));
+	}
+
+	private void assertPrimary(Long animalId, Long imageId) {
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(imageId, entityManager.find(Animal.class, animalId).getPrimaryImageId());
+		assertEquals(1, primaryCount(animalId));
+		assertTrue(entityManager.find(AnimalImage.class, imageId).getIsPrimary());
+	}
+
+	private long primaryCount(Long animalId) {
+		return entityManager.createQuery(
+				"SELECT COUNT(i) FROM AnimalImage i WHERE i.animal.id = :animalId AND i.isPrimary = true", Long.class)
+				.setParameter("animalId", animalId)
+				.getSingleResult();
+	}
+
+	private Statistics startCounting() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+	private Animal seedAnimal() {
+		User reporter = new User("reporter" + System.nanoTime(), System.nanoTime() + "@example.com", "password-hash");
+		entityManager.persist(reporter);
+		Animal animal = new Animal("Animal", "Dog", "Friendly", reporter);
+		entityManager.persist(animal);
+		return animal;
+	}
+
+	private AnimalImage pendingImage(Animal animal, int displayOrder) {
+		String key = "animals/" + animal.getId() + "/pending-" + displayOrder;
+		AnimalImage image = new AnimalImage("photo.jpg", key, "https://img/" + key, animal, animal.getReportedBy());
+		image.setMediumS3Key(key + "-medium");
+		image.setThumbnailS3Key(key + "-thumb");
+		image.setIsPrimary(false);
+		image.setDisplayOrder(displayOrder);
+		image.setStatus(ImageStatus.PENDING);
+		entityManager.persist(image);
+		return image;
+	}
+
+	private static Path staged(byte[] content) throws IOException {
+		Path file = Files.createTempFile("primary-image-test-", ".upload");
+		Files.write(file, content);
+		return file;
+	}
+
+	private static byte[] photo() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "png", out);
+		return out.toByteArray();
+	}
+
+	private List<AnimalImage> seed(int imageCount) {
+		Animal animal = seedAnimal();
+		User reporter = animal.getReportedBy();
+
+		List<AnimalImage> images = new ArrayList<>();
+		for (int i = 0; i < imageCount; i++) {
+			AnimalImage image = new AnimalImage("photo.jpg", "animals/" + animal.getId() + "/" + i,
+					"https://img/" + animal.getId() + "/" + i, animal, reporter);
+			image.setIsPrimary(i == 0);
+			image.setDisplayOrder(i);
+			entityManager.persist(image);
+			images.add(image);
+		}
+		animal.setPrimaryImageId(images.get(0).getId());
+		return images;
+	}
+}
@@ -0,0 +1,128 @@
+package com.strayrescue.backend.service;
+
+import com.strayrescue.backend.config.S3Config;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every attempt against S3 is one s3.requests sample, retries happen once
+ * (in S3ImageStorage, not again in the SDK), and only stored bytes count.
+ */
+class S3ImageStorageTest {
+
+	private static final int LENGTH = 1000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// Status codes the stand-in answers with, then 200
+	private final Queue<Integer> failures = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private HttpServer server;
+	private S3Client s3Client;
+	private S3ImageStorage storage;
+
+	@BeforeEach
+	void startFakeS3() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+		String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+
+		s3Client = S3Config.createS3Client("us-east-1",
+				StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")),
+				endpoint, 4, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofSeconds(60));
+
+		storage = new S3ImageStorage();
+		ReflectionTestUtils.setField(storage, "s3Client", s3Client);
+		ReflectionTestUtils.setField(storage, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(storage, "bucketName", "test-bucket");
+		ReflectionTestUtils.setField(storage, "endpoint", endpoint);
+		storage.registerMetrics();
+	}
+
+	@AfterEach
+	void stopFakeS3() {
+		s3Client.close();
+		server.stop(0);
+	}
+
+	@Test
+	void successfulPutRecordsOneRequestAndItsBytes() throws Exception {
+		storage.put("animals/1/a.jpg", new byte[LENGTH * 2], LENGTH, "image/jpeg");
+
+		assertEquals(1, requests.get());
+		assertEquals(1, requestCount("put", "success"));
+		assertEquals(0, requestCount("put", "error"));
+		assertEquals(1, meterRegistry.get("s3.put.bytes").summary().count());
+		assertEquals(LENGTH, meterRegistry.get("s3.put.bytes").summary().totalAmount());
+	}
+
+	@Test
+	void eachRetryIsOneRequest() throws Exception {
+		failures.add(503);
+		failures.add(500);
+
+		storage.put("animals/1/a.jpg", new byte[LENGTH], LENGTH, "image/jpeg");
+
+		assertEquals(3, requests.get());
+		assertEquals(2, requestCount("put", "error"));
+		assertEquals(1, requestCount("put", "success"));
+		assertEquals(1, meterRegistry.get("s3.put.bytes").summary().count());
+	}
+
+	@Test
+	void rejectedPutIsNotRetriedOrCounted() {
+		failures.add(403);
+
+		assertThrows(S3Exception.class, () -> storage.put("animals/1/a.jpg", new byte[LENGTH], LENGTH, "image/jpeg"));
+
+		assertEquals(1, requests.get());
+		assertEquals(1, requestCount("put", "error"));
+		assertEquals(0, meterRegistry.get("s3.put.bytes").summary().count());
+	}
+
+	@Test
+	void deleteRetriesTransientFailures() {
+		failures.add(503);
+
+		storage.delete("animals/1/a.jpg");
+
+		assertEquals(2, requests.get());
+		assertEquals(1, requestCount("delete", "error"));
+		assertEquals(1, requestCount("delete", "success"));
+	}
+
+	private long requestCount(String operation, String outcome) {
+		var timer = meterRegistry.find("s3.requests").tag("operation", operation).tag("outcome", outcome).timer();
+		return timer != null ? timer.count() : 0;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		try (InputStream body = exchange.getRequestBody()) {
+			body.readAllBytes();
+		}
+		Integer failure = failures.poll();
+		int status = failure != null ? failure : "DELETE".equals(exchange.getRequestMethod()) ? 204 : 200;
+		exchange.sendResponseHeaders(status, -1);
+		exchange.close();
+	}
+}
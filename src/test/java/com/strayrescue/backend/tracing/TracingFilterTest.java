@@ -0,0 +1,109 @@
+package com.strayrescue.backend.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingFilterTest {
+
+	@Test
+	void sampledRequestRecordsStageTimings() throws Exception {
+		TraceRecorder recorder = recorder(1.0, 16);
+		TracingFilter filter = filter(recorder);
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/animals/7"), new MockHttpServletResponse(),
+				new MockFilterChain(new HttpServlet() {
+					@Override
+					protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+						Tracing.begin(Stage.MAPPING);
+						Tracing.begin(Stage.MAPPING); // nested stage is only counted once
+						busyWait(2_000_000);
+						Tracing.end(Stage.MAPPING);
+						Tracing.end(Stage.MAPPING);
+						Tracing.recordStatement(1_000_000);
+					}
+				}));
+
+		List<RequestTrace> traces = recorder.recent(10);
+		assertEquals(1, traces.size());
+		RequestTrace trace = traces.get(0);
+		assertEquals("/api/animals/7", trace.getPath());
+		assertEquals(1, trace.getStatements());
+		assertEquals(1000, trace.getStageMicros().get(Stage.DB));
+		assertTrue(trace.getStageMicros().get(Stage.MAPPING) >= 2000);
+		assertTrue(trace.getTotalMicros() >= trace.getStageMicros().get(Stage.MAPPING));
+		assertFalse(Tracing.isActive());
+	}
+
+	@Test
+	void unsampledRequestIsNotTraced() throws Exception {
+		TraceRecorder recorder = recorder(0.0, 16);
+
+		filter(recorder).doFilter(new MockHttpServletRequest("GET", "/api/animals"), new MockHttpServletResponse(),
+				new MockFilterChain(new HttpServlet() {
+					@Override
+					protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+						assertFalse(Tracing.isActive());
+					}
+				}));
+
+		assertTrue(recorder.recent(10).isEmpty());
+	}
+
+	@Test
+	void ringBufferKeepsNewestTraces() {
+		TraceRecorder recorder = recorder(1.0, 4);
+		for (int i = 0; i < 10; i++) {
+			RequestTrace trace = new RequestTrace("GET", "/" + i);
+			trace.finish(null, 200);
+			recorder.record(trace);
+		}
+
+		List<RequestTrace> traces = recorder.recent(100);
+		assertEquals(List.of("/9", "/8", "/7", "/6"), traces.stream().map(RequestTrace::getPath).toList());
+	}
+
+	@Test
+	void negativeLimitReturnsNoTraces() {
+		TraceRecorder recorder = recorder(1.0, 4);
+		RequestTrace trace = new RequestTrace("GET", "/");
+		trace.finish(null, 200);
+		recorder.record(trace);
+
+		assertTrue(recorder.recent(-1).isEmpty());
+		assertTrue(recorder.recent(Integer.MIN_VALUE).isEmpty());
+		assertTrue(recorder.recent(0).isEmpty());
+	}
+
+	private static TraceRecorder recorder(double sampleRate, int bufferSize) {
+		TraceRecorder recorder = new TraceRecorder();
+		ReflectionTestUtils.setField(recorder, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(recorder, "sampleRate", sampleRate);
+		ReflectionTestUtils.setField(recorder, "bufferSize", bufferSize);
+		recorder.start();
+		return recorder;
+	}
+
+	private static TracingFilter filter(TraceRecorder recorder) {
+		TracingFilter filter = new TracingFilter();
+		ReflectionTestUtils.setField(filter, "traceRecorder", recorder);
+		return filter;
+	}
+
+	private static void busyWait(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+}